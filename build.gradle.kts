@@ -3,36 +3,71 @@ plugins {
     id("org.springframework.boot") version "3.3.3"
     id("io.spring.dependency-management") version "1.1.5"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.2"
 }
 group = "com.example"
 version = "0.0.1-SNAPSHOT"
 
 java {
-    toolchain { languageVersion = JavaLanguageVersion.of(17) }
+    toolchain { languageVersion = JavaLanguageVersion.of(21) }
 }
 
 repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+        runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    }
+}
+
+val loadTestImplementation by configurations.getting {
+    extendsFrom(configurations.testImplementation.get())
+}
+val loadTestRuntimeOnly by configurations.getting {
+    extendsFrom(configurations.testRuntimeOnly.get())
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
 
     runtimeOnly("org.postgresql:postgresql:42.7.3")
     runtimeOnly("com.h2database:h2")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+    runtimeOnly("io.r2dbc:r2dbc-h2")
 
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("io.projectreactor:reactor-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    loadTestImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results-${project.version}.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = it.split(",") }
 }
 
 tasks.withType<Test> {
@@ -40,6 +75,35 @@ tasks.withType<Test> {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("loadTest") {
+    description = "Runs the load-test comparisons against an in-process server."
+    group = "verification"
+    testClassesDirs = sourceSets["loadTest"].output.classesDirs
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    shouldRunAfter(tasks.test)
+    filter { excludeTestsMatching("*ApiLoadTest") }
+    systemProperty("loadtest.requests", System.getProperty("loadtest.requests", "4000"))
+    systemProperty("loadtest.concurrency", System.getProperty("loadtest.concurrency", "400"))
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("loadtest.bulk.") || it.startsWith("loadtest.import.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+    testLogging { showStandardStreams = true }
+}
+
+tasks.register<Test>("apiLoadTest") {
+    description = "Drives a configurable request mix through the REST API on H2 and reports latency percentiles."
+    group = "verification"
+    testClassesDirs = sourceSets["loadTest"].output.classesDirs
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    shouldRunAfter(tasks.test)
+    filter { includeTestsMatching("*ApiLoadTest") }
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("loadtest.api.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+    outputs.upToDateWhen { false }
+    testLogging { showStandardStreams = true }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -0,0 +1,79 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.ProductDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheSerializerBenchmark {
+
+    @Param({"binary", "json", "jdk"})
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private ProductDto product;
+    private List<ProductDto> products;
+    private byte[] productBytes;
+    private byte[] productsBytes;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (format) {
+            case "binary" -> new BinaryCacheValueSerializer();
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            default -> new JdkSerializationRedisSerializer();
+        };
+        product = product(0);
+        products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(product(i));
+        }
+        productBytes = serializer.serialize(product);
+        productsBytes = serializer.serialize(products);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() {
+        return serializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return serializer.deserialize(productBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() {
+        return serializer.serialize(products);
+    }
+
+    @Benchmark
+    public Object deserializeProductList() {
+        return serializer.deserialize(productsBytes);
+    }
+
+    private static ProductDto product(int i) {
+        ProductDto product = new ProductDto();
+        product.id = UUID.randomUUID();
+        product.name = "Product " + i;
+        product.price = new BigDecimal("45.90");
+        return product;
+    }
+}
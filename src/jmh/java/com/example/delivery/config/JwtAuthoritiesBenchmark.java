@@ -0,0 +1,56 @@
+package com.example.delivery.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthoritiesBenchmark {
+
+    @Param({"0", "2", "20"})
+    public int realmRoles;
+
+    private SecurityConfig.KeycloakJwtGrantedAuthoritiesConverter converter;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        converter = new SecurityConfig.KeycloakJwtGrantedAuthoritiesConverter();
+        List<String> roles = new ArrayList<>();
+        roles.add("delivery_user");
+        for (int i = 1; i < realmRoles; i++) {
+            roles.add("role_" + i);
+        }
+        Jwt.Builder builder = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .claim("scope", "openid profile delivery delivery.read");
+        if (realmRoles > 0) {
+            builder.claim("realm_access", Map.of("roles", roles));
+        }
+        jwt = builder.build();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        return converter.convert(jwt);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.delivery.dto;
+
+import com.example.delivery.domain.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderResponseJsonBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int orders;
+
+    private ObjectMapper mapper;
+    private ObjectWriter listWriter;
+    private List<OrderResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // same defaults Spring Boot applies to the MVC converter (ISO dates, java.time module)
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = mapper.writerFor(new TypeReference<List<OrderResponse>>() { });
+
+        responses = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            CustomerDto customer = new CustomerDto();
+            customer.id = UUID.randomUUID();
+            customer.name = "Customer " + i;
+            customer.email = "customer" + i + "@example.com";
+            customer.phone = "+55 11 99999-0000";
+
+            OrderResponse resp = new OrderResponse();
+            resp.id = UUID.randomUUID();
+            resp.status = OrderStatus.CREATED;
+            resp.createdAt = OffsetDateTime.now();
+            resp.customer = customer;
+            resp.items = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < 3; j++) {
+                OrderItemResponse ir = new OrderItemResponse();
+                ir.productId = UUID.randomUUID();
+                ir.productName = "Product " + j;
+                ir.unitPrice = new BigDecimal("19.90");
+                ir.quantity = j + 1;
+                ir.total = ir.unitPrice.multiply(BigDecimal.valueOf(ir.quantity));
+                resp.items.add(ir);
+                total = total.add(ir.total);
+            }
+            resp.total = total;
+            responses.add(resp);
+        }
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
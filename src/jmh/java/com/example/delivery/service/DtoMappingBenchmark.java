@@ -0,0 +1,50 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.dto.ProductDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private Customer customer;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer.setPhone("+55 11 99999-0000");
+
+        product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Pizza");
+        product.setPrice(new BigDecimal("45.90"));
+    }
+
+    @Benchmark
+    public CustomerDto customerToDto() {
+        return CustomerService.toDto(customer);
+    }
+
+    @Benchmark
+    public ProductDto productToDto() {
+        return ProductService.toDto(product);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.delivery.service;
+
+import com.example.delivery.cache.BinaryCacheValueSerializer;
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.OrderItem;
+import com.example.delivery.domain.Product;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.dto.OrderItemResponse;
+import com.example.delivery.dto.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderListMappingBenchmark {
+
+    private static final int ORDERS = 1_000;
+
+    @Param({"local", "redis"})
+    public String cache;
+
+    private List<PurchaseOrder> orders;
+    private Cache customers;
+    private LettuceConnectionFactory connectionFactory;
+
+    @Setup
+    public void setUp() {
+        List<Customer> owners = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Customer customer = new Customer();
+            customer.setId(UUID.randomUUID());
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            owners.add(customer);
+        }
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Pizza");
+        product.setPrice(new BigDecimal("45.90"));
+
+        orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            PurchaseOrder order = new PurchaseOrder();
+            order.setId(UUID.randomUUID());
+            order.setCreatedAt(OffsetDateTime.now());
+            order.setCustomer(owners.get(i % owners.size()));
+            for (int j = 0; j < 3; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setQuantity(j + 1);
+                item.setUnitPrice(product.getPrice());
+                order.getItems().add(item);
+            }
+            orders.add(order);
+        }
+
+        if ("redis".equals(cache)) {
+            String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+            int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+            connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+            connectionFactory.afterPropertiesSet();
+            RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new BinaryCacheValueSerializer()));
+            customers = RedisCacheManager.builder(connectionFactory).cacheDefaults(config).build().getCache("customers");
+        } else {
+            customers = new ConcurrentMapCache("customers");
+        }
+        for (Customer owner : owners) {
+            customers.put(owner.getId(), CustomerService.toDto(owner));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (connectionFactory != null) {
+            customers.clear();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    public List<OrderResponse> customerFromCachePerOrder() {
+        List<OrderResponse> result = new ArrayList<>(ORDERS);
+        for (PurchaseOrder order : orders) {
+            OrderResponse resp = new OrderResponse();
+            resp.id = order.getId();
+            resp.status = order.getStatus();
+            resp.createdAt = order.getCreatedAt();
+            resp.customer = customers.get(order.getCustomer().getId(), CustomerDto.class);
+            List<OrderItemResponse> items = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (OrderItem item : order.getItems()) {
+                OrderItemResponse ir = OrderMapper.toItemResponse(item);
+                items.add(ir);
+                total = total.add(ir.total);
+            }
+            resp.items = items;
+            resp.total = total;
+            result.add(resp);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<OrderResponse> customerFromAssociation() {
+        List<OrderResponse> result = new ArrayList<>(ORDERS);
+        for (PurchaseOrder order : orders) {
+            result.add(OrderMapper.toResponse(order));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.OrderItem;
+import com.example.delivery.domain.Product;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private PurchaseOrder order;
+
+    @Setup
+    public void setUp() {
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer.setPhone("+55 11 99999-0000");
+
+        order = new PurchaseOrder();
+        order.setId(UUID.randomUUID());
+        order.setCreatedAt(OffsetDateTime.now());
+        order.setCustomer(customer);
+        for (int i = 0; i < items; i++) {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("12.90").add(BigDecimal.valueOf(i)));
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(i % 5 + 1);
+            item.setUnitPrice(product.getPrice());
+            order.getItems().add(item);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return OrderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public BigDecimal totalLoop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : order.getItems()) {
+            total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal totalStream() {
+        return order.getItems().stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
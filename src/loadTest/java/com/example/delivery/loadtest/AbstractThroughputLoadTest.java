@@ -0,0 +1,70 @@
+package com.example.delivery.loadtest;
+
+import com.example.delivery.domain.Product;
+import com.example.delivery.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(LoadTestConfig.class)
+abstract class AbstractThroughputLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 4000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    protected abstract String mode();
+
+    @Test
+    void shouldServeProductReadsUnderHighConcurrency() throws Exception {
+        List<UUID> ids = seedProducts(100);
+        LoadDriver driver = new LoadDriver("load-test");
+
+        driver.run(mode() + " warm-up", Math.min(REQUESTS, 500), CONCURRENCY, n -> productUri(ids, n));
+        LoadResult result = driver.run(mode(), REQUESTS, CONCURRENCY, n -> productUri(ids, n));
+
+        report(result);
+        assertThat(result.getErrors()).isZero();
+    }
+
+    private URI productUri(List<UUID> ids, int n) {
+        return URI.create("http://localhost:" + port + "/api/v1/products/" + ids.get(n % ids.size()));
+    }
+
+    private List<UUID> seedProducts(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Load product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            ids.add(productRepository.save(product).getId());
+        }
+        return ids;
+    }
+
+    private void report(LoadResult result) throws IOException {
+        System.out.println(result.summary());
+        Path dir = Path.of("build", "reports", "loadtest");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(mode() + ".txt"), result.summary() + System.lineSeparator());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.delivery.loadtest;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ApiFixture {
+
+    private final String baseUrl;
+    private final String runId = Long.toString(System.nanoTime(), 36);
+    private final List<UUID> customerIds;
+    private final List<UUID> productIds;
+    private final List<UUID> orderIds;
+    private final List<UUID> statusOrderIds;
+    private final AtomicInteger nextStatusOrder = new AtomicInteger();
+
+    public ApiFixture(String baseUrl, List<UUID> customerIds, List<UUID> productIds, List<UUID> orderIds,
+                      List<UUID> statusOrderIds) {
+        this.baseUrl = baseUrl;
+        this.customerIds = List.copyOf(customerIds);
+        this.productIds = List.copyOf(productIds);
+        this.orderIds = List.copyOf(orderIds);
+        this.statusOrderIds = List.copyOf(statusOrderIds);
+    }
+
+    public URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    public String runId() { return runId; }
+
+    public UUID customer(int n) { return customerIds.get(n % customerIds.size()); }
+
+    public UUID product(int n) { return productIds.get(n % productIds.size()); }
+
+    public UUID order(int n) { return orderIds.get(n % orderIds.size()); }
+
+    // each status update gets an order of its own, so every PATCH is a legal CREATED -> PROCESSING move
+    public UUID nextStatusOrder() {
+        int index = nextStatusOrder.getAndIncrement();
+        if (index >= statusOrderIds.size()) {
+            throw new IllegalStateException("Not enough seeded orders for status updates: " + statusOrderIds.size());
+        }
+        return statusOrderIds.get(index);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.delivery.loadtest;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.repository.CustomerRepository;
+import com.example.delivery.repository.ProductRepository;
+import com.example.delivery.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "loadtest.downstream-latency=0ms")
+@Import(LoadTestConfig.class)
+class ApiLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.api.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.api.concurrency", 32);
+    private static final String MIX = System.getProperty("loadtest.api.mix", RequestMix.DEFAULT);
+    private static final long SEED = Long.getLong("loadtest.api.seed", 42L);
+    private static final String P99_BUDGET_MS = System.getProperty("loadtest.api.p99-budget-ms", "");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void shouldServeTheRequestMixWithoutErrors() throws Exception {
+        RequestMix mix = RequestMix.parse(MIX);
+        ApiOperation[] warmUp = mix.schedule(Math.min(REQUESTS, 500), SEED + 1);
+        ApiOperation[] schedule = mix.schedule(REQUESTS, SEED);
+        int statusUpdates = RequestMix.count(warmUp, ApiOperation.UPDATE_ORDER_STATUS)
+                + RequestMix.count(schedule, ApiOperation.UPDATE_ORDER_STATUS);
+        ApiFixture fixture = seed(statusUpdates);
+        LoadDriver driver = new LoadDriver("load-test");
+
+        driver.run("api-warm-up", warmUp, CONCURRENCY, fixture);
+        LatencyReport report = driver.run("api", schedule, CONCURRENCY, fixture);
+
+        System.out.println("mix: " + mix);
+        System.out.println(report.table());
+        report.writeTo(Path.of("build", "reports", "loadtest"));
+        assertThat(report.totalErrors()).isZero();
+        if (!P99_BUDGET_MS.isBlank()) {
+            double budget = Double.parseDouble(P99_BUDGET_MS);
+            for (ApiOperation operation : ApiOperation.values()) {
+                if (report.count(operation) > 0) {
+                    assertThat(report.percentileMillis(operation, 99)).as(operation.key() + " p99 ms").isLessThanOrEqualTo(budget);
+                }
+            }
+        }
+    }
+
+    private ApiFixture seed(int statusUpdates) {
+        List<UUID> customers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Customer customer = new Customer();
+            customer.setName("Seed customer " + i);
+            customer.setEmail("seed" + i + "@example.com");
+            customers.add(customerRepository.save(customer).getId());
+        }
+        List<UUID> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = new Product();
+            product.setName("Seed product " + i);
+            product.setPrice(new BigDecimal("19.90"));
+            products.add(productRepository.save(product).getId());
+        }
+        List<UUID> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            orders.add(createOrder(customers.get(i % customers.size()), products.get(i % products.size())));
+        }
+        List<UUID> statusOrders = new ArrayList<>();
+        for (int i = 0; i < statusUpdates; i++) {
+            statusOrders.add(createOrder(customers.get(i % customers.size()), products.get(i % products.size())));
+        }
+        return new ApiFixture("http://localhost:" + port, customers, products, orders, statusOrders);
+    }
+
+    private UUID createOrder(UUID customerId, UUID productId) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.productId = productId;
+        item.quantity = 2;
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.customerId = customerId;
+        req.items = List.of(item);
+        return orderService.create(req).id;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.delivery.loadtest;
+
+import java.net.http.HttpRequest;
+
+public enum ApiOperation {
+
+    CREATE_CUSTOMER("customers.create") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            String id = fixture.runId() + "-" + n;
+            return json(fixture, "/api/v1/customers", "POST",
+                    "{\"name\":\"Load customer " + id + "\",\"email\":\"load-" + id + "@example.com\"}");
+        }
+    },
+    LIST_CUSTOMERS("customers.list") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/customers")).GET();
+        }
+    },
+    GET_CUSTOMER("customers.get") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/customers/" + fixture.customer(n))).GET();
+        }
+    },
+    CREATE_PRODUCT("products.create") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return json(fixture, "/api/v1/products", "POST",
+                    "{\"name\":\"Load product " + fixture.runId() + "-" + n + "\",\"price\":" + (10 + n % 90) + ".90}");
+        }
+    },
+    LIST_PRODUCTS("products.list") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/products")).GET();
+        }
+    },
+    GET_PRODUCT("products.get") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/products/" + fixture.product(n))).GET();
+        }
+    },
+    CREATE_ORDER("orders.create") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return json(fixture, "/api/v1/orders", "POST",
+                    "{\"customerId\":\"" + fixture.customer(n) + "\",\"items\":["
+                            + "{\"productId\":\"" + fixture.product(n) + "\",\"quantity\":1},"
+                            + "{\"productId\":\"" + fixture.product(n + 7) + "\",\"quantity\":" + (n % 3 + 1) + "}]}");
+        }
+    },
+    LIST_ORDERS("orders.list") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            String query = n % 2 == 0 ? "?size=20" : "?status=CREATED&size=20";
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/orders" + query)).GET();
+        }
+    },
+    GET_ORDER("orders.get") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return HttpRequest.newBuilder(fixture.uri("/api/v1/orders/" + fixture.order(n))).GET();
+        }
+    },
+    UPDATE_ORDER_STATUS("orders.status") {
+        @Override
+        HttpRequest.Builder request(ApiFixture fixture, int n) {
+            return json(fixture, "/api/v1/orders/" + fixture.nextStatusOrder() + "/status", "PATCH",
+                    "{\"status\":\"PROCESSING\"}");
+        }
+    };
+
+    private final String key;
+
+    ApiOperation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(ApiFixture fixture, int n);
+
+    public static ApiOperation fromKey(String key) {
+        for (ApiOperation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+
+    private static HttpRequest.Builder json(ApiFixture fixture, String path, String method, String body) {
+        return HttpRequest.newBuilder(fixture.uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.delivery.loadtest;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.BulkOrderResponse;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.repository.CustomerRepository;
+import com.example.delivery.repository.ProductRepository;
+import com.example.delivery.service.BulkOrderService;
+import com.example.delivery.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares order ingestion throughput of one OrderService.create per order against the chunked bulk path
+@SpringBootTest
+@Import(LoadTestConfig.class)
+class BulkOrderLoadTest {
+
+    private static final int ORDERS = Integer.getInteger("loadtest.bulk.orders", 5000);
+    private static final int ITEMS_PER_ORDER = Integer.getInteger("loadtest.bulk.items", 3);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Test
+    void shouldIngestOrdersFasterInBulkThanOneAtATime() {
+        List<CreateOrderRequest> requests = requests(seedCustomers(50), seedProducts(100));
+        // Warm up both paths so the comparison is not dominated by class loading and JIT
+        List<CreateOrderRequest> warmUp = requests.subList(0, Math.min(500, requests.size()));
+        warmUp.forEach(orderService::create);
+        bulkOrderService.create(warmUp.iterator());
+
+        long start = System.nanoTime();
+        requests.forEach(orderService::create);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        BulkOrderResponse bulk = bulkOrderService.create(requests.iterator());
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("one-at-a-time: %d orders in %.2fs (%.0f orders/s)%n", ORDERS, singleSeconds, ORDERS / singleSeconds);
+        System.out.printf("bulk:          %d orders in %.2fs (%.0f orders/s)%n", ORDERS, bulkSeconds, ORDERS / bulkSeconds);
+        assertThat(bulk.created).isEqualTo(ORDERS);
+    }
+
+    private List<CreateOrderRequest> requests(List<UUID> customers, List<UUID> products) {
+        List<CreateOrderRequest> requests = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            CreateOrderRequest req = new CreateOrderRequest();
+            req.customerId = customers.get(i % customers.size());
+            req.items = new ArrayList<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItemRequest item = new OrderItemRequest();
+                item.productId = products.get((i + j) % products.size());
+                item.quantity = 1;
+                req.items.add(item);
+            }
+            requests.add(req);
+        }
+        return requests;
+    }
+
+    private List<UUID> seedCustomers(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setName("Bulk customer " + i);
+            customer.setEmail("bulk" + i + "@example.com");
+            ids.add(customerRepository.save(customer).getId());
+        }
+        return ids;
+    }
+
+    private List<UUID> seedProducts(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Bulk product " + i);
+            product.setPrice(new BigDecimal("12.50"));
+            ids.add(productRepository.save(product).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.delivery.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final int concurrency;
+    private final Map<ApiOperation, Histogram> histograms = new EnumMap<>(ApiOperation.class);
+    private final Map<ApiOperation, AtomicInteger> errors = new EnumMap<>(ApiOperation.class);
+    private volatile long elapsedNanos;
+
+    public LatencyReport(String name, int concurrency) {
+        this.name = name;
+        this.concurrency = concurrency;
+        for (ApiOperation operation : ApiOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicInteger());
+        }
+    }
+
+    void record(ApiOperation operation, long latencyNanos, boolean failed) {
+        histograms.get(operation).recordValue(latencyNanos);
+        if (failed) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long count(ApiOperation operation) {
+        return histograms.get(operation).getTotalCount();
+    }
+
+    public int errors(ApiOperation operation) {
+        return errors.get(operation).get();
+    }
+
+    public int totalErrors() {
+        return errors.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public double percentileMillis(ApiOperation operation, double percentile) {
+        return histograms.get(operation).getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    public String table() {
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s: %d requests, concurrency %d, %.0f req/s, errors %d%n",
+                name, total, concurrency, total / (elapsedNanos / 1_000_000_000.0), totalErrors()));
+        sb.append(String.format("%-18s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (ApiOperation operation : ApiOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-18s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.key(), histogram.getTotalCount(), errors(operation),
+                    percentileMillis(operation, 50), percentileMillis(operation, 90),
+                    percentileMillis(operation, 99), percentileMillis(operation, 99.9),
+                    histogram.getMaxValue() / NANOS_PER_MILLI));
+        }
+        return sb.toString();
+    }
+
+    // <name>.txt holds the summary table; <name>-<operation>.hgrm files load into the HdrHistogram plotter
+    public void writeTo(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(name + ".txt"), table());
+        for (ApiOperation operation : ApiOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + "-" + operation.key() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.delivery.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+public final class LoadDriver {
+
+    private final HttpClient client;
+    private final String token;
+
+    public LoadDriver(String token) {
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.token = token;
+    }
+
+    public LoadResult run(String name, int requests, int concurrency, IntFunction<URI> target) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int n = i;
+                inFlight.acquire();
+                workers.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(target.apply(n))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[n] = System.nanoTime() - sent;
+                        inFlight.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        return new LoadResult(name, requests, concurrency, System.nanoTime() - start, latencies, errors.get());
+    }
+
+    public LatencyReport run(String name, ApiOperation[] schedule, int concurrency, ApiFixture fixture)
+            throws InterruptedException {
+        LatencyReport report = new LatencyReport(name, concurrency);
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(schedule.length);
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < schedule.length; i++) {
+                int n = i;
+                ApiOperation operation = schedule[i];
+                inFlight.acquire();
+                workers.execute(() -> {
+                    boolean failed = true;
+                    long sent = System.nanoTime();
+                    try {
+                        HttpRequest request = operation.request(fixture, n)
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        failed = response.statusCode() >= 400;
+                    } catch (Exception e) {
+                        failed = true;
+                    } finally {
+                        report.record(operation, System.nanoTime() - sent, failed);
+                        inFlight.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+}
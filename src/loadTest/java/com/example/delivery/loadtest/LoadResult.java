@@ -0,0 +1,42 @@
+package com.example.delivery.loadtest;
+
+import java.util.Arrays;
+
+public final class LoadResult {
+
+    private final String name;
+    private final int requests;
+    private final int concurrency;
+    private final long elapsedNanos;
+    private final long[] latenciesNanos;
+    private final int errors;
+
+    public LoadResult(String name, int requests, int concurrency, long elapsedNanos, long[] latenciesNanos, int errors) {
+        this.name = name;
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.elapsedNanos = elapsedNanos;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+    }
+
+    public int getErrors() { return errors; }
+
+    public double throughput() {
+        return requests / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+        return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    public String summary() {
+        return String.format("%s: %d requests, concurrency %d, %.0f req/s, p50 %.1f ms, p99 %.1f ms, errors %d",
+                name, requests, concurrency, throughput(), percentileMillis(50), percentileMillis(99), errors);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.delivery.loadtest;
+
+import com.example.delivery.dto.ProductImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Streams a generated CSV catalog through POST /api/v1/products/import and reports rows per second,
+// next to the same number of rows sent one POST /api/v1/products at a time
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "loadtest.downstream-latency=0ms")
+@Import(LoadTestConfig.class)
+class ProductImportLoadTest {
+
+    private static final int ROWS = Integer.getInteger("loadtest.import.rows", 200_000);
+    private static final int SINGLE_ROWS = Integer.getInteger("loadtest.import.single-rows", 2_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldImportTheCatalogFasterThanOneRequestPerProduct() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            HttpResponse<String> response = client.send(request("/api/v1/products", "application/json",
+                    HttpRequest.BodyPublishers.ofString("{\"name\":\"Single " + i + "\",\"price\":10.00}")),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(201);
+        }
+        double singleRowsPerSecond = SINGLE_ROWS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        HttpResponse<String> response = client.send(request("/api/v1/products/import", "text/csv",
+                HttpRequest.BodyPublishers.ofInputStream(ProductImportLoadTest::csv)), HttpResponse.BodyHandlers.ofString());
+        double importSeconds = (System.nanoTime() - start) / 1e9;
+        assertThat(response.statusCode()).isEqualTo(200);
+        ProductImportResponse result = objectMapper.readValue(response.body(), ProductImportResponse.class);
+
+        String summary = String.format("one request per product: %.0f rows/s (%d rows)%n"
+                        + "streaming import:        %.0f rows/s end to end, %d rows/s server side (%d rows, %.2fs)%n",
+                singleRowsPerSecond, SINGLE_ROWS, ROWS / importSeconds, result.rowsPerSecond, ROWS, importSeconds);
+        System.out.print(summary);
+        Path dir = Path.of("build", "reports", "loadtest");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("product-import.txt"), summary);
+        assertThat(result.imported).isEqualTo(ROWS);
+    }
+
+    private HttpRequest request(String path, String contentType, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer load-test")
+                .header("Content-Type", contentType)
+                .POST(body)
+                .build();
+    }
+
+    // Generated lazily so the client never holds the whole file either
+    private static InputStream csv() {
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int row = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return row < ROWS;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = (row < 0) ? "id,name,price\n" : UUID.randomUUID() + ",Imported product " + row + ",19.90\n";
+                row++;
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(lines);
+    }
+}
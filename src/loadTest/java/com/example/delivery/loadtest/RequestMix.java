@@ -0,0 +1,76 @@
+package com.example.delivery.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+public final class RequestMix {
+
+    public static final String DEFAULT = "customers.create=2,customers.list=5,customers.get=8,"
+            + "products.create=2,products.list=8,products.get=15,"
+            + "orders.create=20,orders.list=15,orders.get=20,orders.status=5";
+
+    private final Map<ApiOperation, Integer> weights;
+    private final int totalWeight;
+
+    private RequestMix(Map<ApiOperation, Integer> weights) {
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Request mix needs at least one positive weight");
+        }
+    }
+
+    // "orders.create=20,orders.get=30": operation keys from ApiOperation with relative weights
+    public static RequestMix parse(String spec) {
+        Map<ApiOperation, Integer> weights = new EnumMap<>(ApiOperation.class);
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected key=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for '" + parts[0].trim() + "'");
+            }
+            weights.merge(ApiOperation.fromKey(parts[0].trim()), weight, Integer::sum);
+        }
+        return new RequestMix(weights);
+    }
+
+    public ApiOperation[] schedule(int requests, long seed) {
+        Random random = new Random(seed);
+        ApiOperation[] schedule = new ApiOperation[requests];
+        for (int i = 0; i < requests; i++) {
+            int pick = random.nextInt(totalWeight);
+            for (Map.Entry<ApiOperation, Integer> entry : weights.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    schedule[i] = entry.getKey();
+                    break;
+                }
+            }
+        }
+        return schedule;
+    }
+
+    public static int count(ApiOperation[] schedule, ApiOperation operation) {
+        int count = 0;
+        for (ApiOperation op : schedule) {
+            if (op == operation) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((op, weight) -> sb.append(sb.isEmpty() ? "" : ",").append(op.key()).append('=').append(weight));
+        return sb.toString();
+    }
+}
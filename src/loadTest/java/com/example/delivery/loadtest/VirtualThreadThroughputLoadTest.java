@@ -0,0 +1,12 @@
+package com.example.delivery.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadThroughputLoadTest extends AbstractThroughputLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual-threads";
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.dto.ProductDto;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xD1;
+    static final byte VERSION = 1;
+
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_CUSTOMER = 1;
+    static final byte TYPE_PRODUCT = 2;
+    static final byte TYPE_CUSTOMER_LIST = 3;
+    static final byte TYPE_PRODUCT_LIST = 4;
+    static final byte TYPE_JDK = 127;
+
+    private final JdkSerializationRedisSerializer fallback = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            if (value == null || value instanceof NullValue) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof CustomerDto customer) {
+                out.writeByte(TYPE_CUSTOMER);
+                writeCustomer(out, customer);
+            } else if (value instanceof ProductDto product) {
+                out.writeByte(TYPE_PRODUCT);
+                writeProduct(out, product);
+            } else if (value instanceof List<?> list && isListOf(list, CustomerDto.class)) {
+                out.writeByte(TYPE_CUSTOMER_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeCustomer(out, (CustomerDto) element);
+                }
+            } else if (value instanceof List<?> list && isListOf(list, ProductDto.class)) {
+                out.writeByte(TYPE_PRODUCT_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeProduct(out, (ProductDto) element);
+                }
+            } else {
+                out.writeByte(TYPE_JDK);
+                out.write(fallback.serialize(value));
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize cache value", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 3 || bytes[0] != MAGIC || bytes[1] != VERSION) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            switch (bytes[2]) {
+                case TYPE_NULL:
+                    return NullValue.INSTANCE;
+                case TYPE_CUSTOMER:
+                    return readCustomer(in);
+                case TYPE_PRODUCT:
+                    return readProduct(in);
+                case TYPE_CUSTOMER_LIST: {
+                    int size = in.readInt();
+                    List<CustomerDto> customers = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        customers.add(readCustomer(in));
+                    }
+                    return Collections.unmodifiableList(customers);
+                }
+                case TYPE_PRODUCT_LIST: {
+                    int size = in.readInt();
+                    List<ProductDto> products = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        products.add(readProduct(in));
+                    }
+                    return Collections.unmodifiableList(products);
+                }
+                case TYPE_JDK:
+                    return fallback.deserialize(in.readAllBytes());
+                default:
+                    return null;
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not deserialize cache value", e);
+        }
+    }
+
+    private static boolean isListOf(List<?> list, Class<?> type) {
+        if (list.isEmpty()) {
+            return false;
+        }
+        for (Object element : list) {
+            if (element == null || element.getClass() != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeCustomer(DataOutputStream out, CustomerDto customer) throws IOException {
+        writeUuid(out, customer.id);
+        writeString(out, customer.name);
+        writeString(out, customer.email);
+        writeString(out, customer.phone);
+    }
+
+    private static CustomerDto readCustomer(DataInputStream in) throws IOException {
+        CustomerDto customer = new CustomerDto();
+        customer.id = readUuid(in);
+        customer.name = readString(in);
+        customer.email = readString(in);
+        customer.phone = readString(in);
+        return customer;
+    }
+
+    private static void writeProduct(DataOutputStream out, ProductDto product) throws IOException {
+        writeUuid(out, product.id);
+        writeString(out, product.name);
+        writeDecimal(out, product.price);
+    }
+
+    private static ProductDto readProduct(DataInputStream in) throws IOException {
+        ProductDto product = new ProductDto();
+        product.id = readUuid(in);
+        product.name = readString(in);
+        product.price = readDecimal(in);
+        return product;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int length = in.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), in.readInt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.delivery.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public class CacheHitRatioMeterBinder implements MeterBinder {
+
+    private final Collection<String> cacheNames;
+    private final Duration window;
+
+    public CacheHitRatioMeterBinder(Collection<String> cacheNames, Duration window) {
+        this.cacheNames = List.copyOf(cacheNames);
+        this.window = window;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheNames) {
+            HitRatioWindow ratio = new HitRatioWindow(registry, name, window.toNanos());
+            Gauge.builder("cache.hit.ratio", ratio, HitRatioWindow::ratio)
+                    .tag("cache", name)
+                    .strongReference(true)
+                    .description("Share of cache gets that were hits over the last window")
+                    .register(registry);
+        }
+    }
+
+    static final class HitRatioWindow {
+
+        private final MeterRegistry registry;
+        private final String cacheName;
+        private final long windowNanos;
+        private long[] older;
+        private long[] newer;
+
+        HitRatioWindow(MeterRegistry registry, String cacheName, long windowNanos) {
+            this.registry = registry;
+            this.cacheName = cacheName;
+            this.windowNanos = windowNanos;
+        }
+
+        synchronized double ratio() {
+            long now = registry.config().clock().monotonicTime();
+            long hits = count("hit");
+            long gets = hits + count("miss");
+            long[] current = {now, hits, gets};
+            if (newer == null) {
+                older = current;
+                newer = current;
+            } else if (now - newer[0] >= windowNanos) {
+                older = newer;
+                newer = current;
+            }
+            long windowGets = gets - older[2];
+            if (windowGets <= 0) {
+                return Double.NaN;
+            }
+            return (double) (hits - older[1]) / windowGets;
+        }
+
+        private long count(String result) {
+            double total = 0;
+            for (Meter meter : registry.find("cache.gets").tags("cache", cacheName, "result", result).meters()) {
+                for (Measurement measurement : meter.measure()) {
+                    if (measurement.getStatistic() == Statistic.COUNT) {
+                        total += measurement.getValue();
+                    }
+                }
+            }
+            return (long) total;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.delivery.cache;
+
+import java.nio.charset.StandardCharsets;
+
+public final class CacheInvalidation {
+
+    private static final String SEPARATOR = "\t";
+
+    private final String origin;
+    private final String cacheName;
+    private final String key;
+
+    public CacheInvalidation(String origin, String cacheName, String key) {
+        this.origin = origin;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    public String getOrigin() { return origin; }
+    public String getCacheName() { return cacheName; }
+    public String getKey() { return key; }
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    public byte[] encode() {
+        String payload = origin + SEPARATOR + cacheName + SEPARATOR + (key == null ? "" : "k" + key);
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static CacheInvalidation decode(byte[] body) {
+        String[] parts = new String(body, StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation message");
+        }
+        String key = parts[2].isEmpty() ? null : parts[2].substring(1);
+        return new CacheInvalidation(parts[0], parts[1], key);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+
+public class IdempotencyRecord {
+    public String fingerprint;
+    // Null while the original request is still running
+    public OrderResponse response;
+
+    static IdempotencyRecord of(String fingerprint, OrderResponse response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.fingerprint = fingerprint;
+        record.response = response;
+        return record;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+final class IdempotentCall {
+
+    static final String KEY_REUSED = "Idempotency-Key was already used for a different request";
+    static final String IN_PROGRESS = "A request with this Idempotency-Key is still in progress, retry later";
+
+    private final String fingerprint;
+    private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+
+    IdempotentCall(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void checkFingerprint(String other) {
+        if (!fingerprint.equals(other)) {
+            throw new ConflictException(KEY_REUSED);
+        }
+    }
+
+    void complete(OrderResponse response) {
+        result.complete(response);
+    }
+
+    void fail(RuntimeException e) {
+        result.completeExceptionally(e);
+    }
+
+    // Waiters see the same outcome as the original call, including its exception
+    OrderResponse await(Duration timeout) {
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException(IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(IN_PROGRESS);
+        }
+    }
+}
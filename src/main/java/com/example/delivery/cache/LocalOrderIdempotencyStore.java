@@ -0,0 +1,39 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+public class LocalOrderIdempotencyStore implements OrderIdempotencyStore {
+
+    private final Cache<String, IdempotentCall> calls;
+    private final Duration waitTimeout;
+
+    public LocalOrderIdempotencyStore(Duration ttl, long maximumSize, Duration waitTimeout) {
+        this.calls = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public Outcome execute(String key, String fingerprint, Supplier<OrderResponse> action) {
+        IdempotentCall mine = new IdempotentCall(fingerprint);
+        IdempotentCall existing = calls.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            existing.checkFingerprint(fingerprint);
+            return new Outcome(existing.await(waitTimeout), true);
+        }
+        try {
+            OrderResponse response = action.get();
+            mine.complete(response);
+            return new Outcome(response, false);
+        } catch (RuntimeException e) {
+            // A failed call does not claim the key, so the client can retry it
+            calls.asMap().remove(key, mine);
+            mine.fail(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+
+import java.util.function.Supplier;
+
+public interface OrderIdempotencyStore {
+
+    // Runs the action once per key: later calls with the same key replay its result, concurrent ones wait for it
+    Outcome execute(String key, String fingerprint, Supplier<OrderResponse> action);
+
+    final class Outcome {
+
+        private final OrderResponse response;
+        private final boolean replayed;
+
+        Outcome(OrderResponse response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+
+        public OrderResponse getResponse() { return response; }
+
+        public boolean isReplayed() { return replayed; }
+    }
+}
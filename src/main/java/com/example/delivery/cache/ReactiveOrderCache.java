@@ -0,0 +1,36 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveOrderCache {
+
+    String CACHE_NAME = "orders";
+
+    Mono<OrderResponse> get(UUID id);
+
+    Mono<Void> put(OrderResponse order);
+
+    Mono<Void> evict(UUID id);
+
+    static ReactiveOrderCache noOp() {
+        return new ReactiveOrderCache() {
+            @Override
+            public Mono<OrderResponse> get(UUID id) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<Void> put(OrderResponse order) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<Void> evict(UUID id) {
+                return Mono.empty();
+            }
+        };
+    }
+}
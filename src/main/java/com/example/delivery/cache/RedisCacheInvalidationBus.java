@@ -0,0 +1,57 @@
+package com.example.delivery.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final byte[] channelBytes;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisCacheInvalidationBus(RedisConnectionFactory connectionFactory, RedisMessageListenerContainer container,
+                                     String channel) {
+        this.connectionFactory = connectionFactory;
+        this.channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+        container.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.publish(channelBytes, invalidation.encode());
+        } catch (RuntimeException e) {
+            log.warn("Could not publish cache invalidation for {}: {}", invalidation.getCacheName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidation.decode(message.getBody());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.ConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class RedisOrderIdempotencyStore implements OrderIdempotencyStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisOrderIdempotencyStore.class);
+
+    static final String KEY_PREFIX = "idempotency::orders::";
+    private static final long POLL_MILLIS = 50;
+
+    private final RedisTemplate<String, IdempotencyRecord> template;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    // Duplicates arriving on this node wait on the local call instead of polling Redis
+    private final ConcurrentMap<String, IdempotentCall> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RedisOrderIdempotencyStore(RedisTemplate<String, IdempotencyRecord> template, Duration ttl, Duration waitTimeout) {
+        this.template = template;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public void close() {
+        leaseRenewer.shutdownNow();
+    }
+
+    @Override
+    public Outcome execute(String key, String fingerprint, Supplier<OrderResponse> action) {
+        String redisKey = KEY_PREFIX + key;
+        IdempotentCall mine = new IdempotentCall(fingerprint);
+        IdempotentCall local = inFlight.putIfAbsent(redisKey, mine);
+        if (local != null) {
+            local.checkFingerprint(fingerprint);
+            return new Outcome(local.await(waitTimeout), true);
+        }
+        try {
+            if (claim(redisKey, fingerprint)) {
+                OrderResponse response = run(redisKey, fingerprint, action);
+                mine.complete(response);
+                return new Outcome(response, false);
+            }
+            OrderResponse response = awaitRemote(redisKey, fingerprint);
+            mine.complete(response);
+            return new Outcome(response, true);
+        } catch (RuntimeException e) {
+            mine.fail(e);
+            throw e;
+        } finally {
+            inFlight.remove(redisKey, mine);
+        }
+    }
+
+    private boolean claim(String redisKey, String fingerprint) {
+        try {
+            // The in-progress marker lives for waitTimeout and is renewed while the action runs (Lease), so a node
+            // dying mid-request blocks the key for waitTimeout rather than ttl; storing the response extends it to ttl
+            return Boolean.TRUE.equals(template.opsForValue().setIfAbsent(redisKey, IdempotencyRecord.of(fingerprint, null), waitTimeout));
+        } catch (DataAccessException e) {
+            // Without Redis the key is only deduplicated on this node; creating the order beats failing it
+            log.warn("Idempotency claim failed for {}: {}", redisKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private OrderResponse run(String redisKey, String fingerprint, Supplier<OrderResponse> action) {
+        OrderResponse response;
+        Lease lease = new Lease(redisKey);
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            lease.stop();
+            release(redisKey);
+            throw e;
+        }
+        lease.stop();
+        try {
+            template.opsForValue().set(redisKey, IdempotencyRecord.of(fingerprint, response), ttl);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency record write failed for {}: {}", redisKey, e.getMessage());
+        }
+        return response;
+    }
+
+    private void release(String redisKey) {
+        try {
+            template.delete(redisKey);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency release failed for {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    private OrderResponse awaitRemote(String redisKey, String fingerprint) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            IdempotencyRecord record;
+            try {
+                record = template.opsForValue().get(redisKey);
+            } catch (DataAccessException e) {
+                // Like a failed claim this is not the caller's fault, so no 500; but another node holds the key, so
+                // running the action here would duplicate its order: ask for a retry instead
+                log.warn("Idempotency lookup failed for {}: {}", redisKey, e.getMessage());
+                throw new ConflictException(IdempotentCall.IN_PROGRESS);
+            }
+            if (record == null) {
+                // The original request failed and released the key (or it expired): the client may retry
+                throw new ConflictException("The original request with this Idempotency-Key did not complete, retry it");
+            }
+            if (!fingerprint.equals(record.fingerprint)) {
+                throw new ConflictException(IdempotentCall.KEY_REUSED);
+            }
+            if (record.response != null) {
+                return record.response;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new ConflictException(IdempotentCall.IN_PROGRESS);
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConflictException(IdempotentCall.IN_PROGRESS);
+            }
+        }
+    }
+
+    // Keeps the in-progress marker alive while the action runs, however long the DB takes, so a retry on another node
+    // cannot claim the key and create the order twice; a dead node stops renewing and the marker expires in waitTimeout
+    private final class Lease implements Runnable {
+
+        private final String redisKey;
+        private final ScheduledFuture<?> renewal;
+        private boolean stopped;
+
+        private Lease(String redisKey) {
+            this.redisKey = redisKey;
+            long period = Math.max(waitTimeout.toMillis() / 3, 1);
+            this.renewal = leaseRenewer.scheduleAtFixedRate(this, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        // Synchronized with stop so a renewal never lands after the response write and cuts its ttl short
+        @Override
+        public synchronized void run() {
+            if (stopped) {
+                return;
+            }
+            try {
+                template.expire(redisKey, waitTimeout);
+            } catch (DataAccessException e) {
+                log.warn("Idempotency lease renewal failed for {}: {}", redisKey, e.getMessage());
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            renewal.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class RedisReactiveOrderCache implements ReactiveOrderCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisReactiveOrderCache.class);
+
+    private final ReactiveRedisTemplate<String, OrderResponse> template;
+    private final Duration ttl;
+
+    public RedisReactiveOrderCache(ReactiveRedisTemplate<String, OrderResponse> template, Duration ttl) {
+        this.template = template;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Mono<OrderResponse> get(UUID id) {
+        return template.opsForValue().get(key(id))
+                .onErrorResume(e -> {
+                    log.warn("Order cache read failed for {}: {}", id, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> put(OrderResponse order) {
+        return template.opsForValue().set(key(order.id), order, ttl)
+                .onErrorResume(e -> {
+                    log.warn("Order cache write failed for {}: {}", order.id, e.getMessage());
+                    return Mono.just(false);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> evict(UUID id) {
+        return template.delete(key(id))
+                .onErrorResume(e -> {
+                    log.warn("Order cache eviction failed for {}: {}", id, e.getMessage());
+                    return Mono.just(0L);
+                })
+                .then();
+    }
+
+    static String key(UUID id) {
+        return CACHE_NAME + "::" + id;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.delivery.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+    private final long ttlNanos;
+    private final double beta;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LoadStamp> stamps;
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    public SingleFlightCache(Cache delegate, Duration ttl, double beta) {
+        this.delegate = delegate;
+        this.ttlNanos = (ttl == null) ? 0 : ttl.toNanos();
+        this.beta = beta;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(100_000);
+        if (ttl != null && !ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.stamps = builder.build();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public long coalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public long earlyRefreshes() {
+        return earlyRefreshes.sum();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper hit = delegate.get(key);
+        if (hit != null) {
+            return (T) refreshEarlyIfDue(key, valueLoader, hit.get());
+        }
+        return (T) load(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        stamps.invalidate(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        stamps.invalidateAll();
+        delegate.clear();
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalescedLoads.increment();
+            return await(running);
+        }
+        try {
+            ValueWrapper hit = delegate.get(key);
+            Object value = (hit != null) ? hit.get() : loadAndStore(key, valueLoader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // The caller that wins the refresh reloads on its own thread, where the loader still has its transaction and
+    // security context; everyone else keeps getting the cached value meanwhile
+    private Object refreshEarlyIfDue(Object key, Callable<?> valueLoader, Object current) {
+        if (beta <= 0 || ttlNanos <= 0) {
+            return current;
+        }
+        LoadStamp stamp = stamps.getIfPresent(key);
+        if (stamp == null) {
+            return current;
+        }
+        double gap = -stamp.computeNanos * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        if (System.nanoTime() + gap < stamp.expiresAtNanos) {
+            return current;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return current;
+        }
+        earlyRefreshes.increment();
+        Object value = current;
+        try {
+            value = loadAndStore(key, valueLoader);
+        } catch (RuntimeException e) {
+            // The entry is still valid: serve it and let a later caller try again
+        } finally {
+            mine.complete(value);
+            inFlight.remove(key, mine);
+        }
+        return value;
+    }
+
+    private Object loadAndStore(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // A load replaces nothing other nodes should drop, so it must not broadcast an invalidation
+        if (delegate instanceof TwoLevelCache twoLevel) {
+            twoLevel.putLoaded(key, value);
+        } else {
+            delegate.put(key, value);
+        }
+        long now = System.nanoTime();
+        stamps.put(key, new LoadStamp(now - start, now + ttlNanos));
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class LoadStamp {
+
+        private final long computeNanos;
+        private final long expiresAtNanos;
+
+        private LoadStamp(long computeNanos, long expiresAtNanos) {
+            this.computeNanos = computeNanos;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.delivery.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class SingleFlightCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> cacheNames;
+    private final Function<String, Duration> ttls;
+    private final double beta;
+    private final ConcurrentMap<String, SingleFlightCache> caches = new ConcurrentHashMap<>();
+
+    public SingleFlightCacheManager(CacheManager delegate, Set<String> cacheNames, Function<String, Duration> ttls,
+                                    double beta) {
+        this.delegate = delegate;
+        this.cacheNames = Set.copyOf(cacheNames);
+        this.ttls = ttls;
+        this.beta = beta;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!cacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        SingleFlightCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new SingleFlightCache(target, ttls.apply(n), beta));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.delivery.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+public class SingleFlightCacheMeterBinderProvider implements CacheMeterBinderProvider<SingleFlightCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(SingleFlightCache cache, Iterable<Tag> tags) {
+        MeterBinder inner = innerBinder(cache.getDelegate(), tags);
+        return registry -> {
+            if (inner != null) {
+                inner.bindTo(registry);
+            }
+            FunctionCounter.builder("cache.loads.coalesced", cache, SingleFlightCache::coalescedLoads)
+                    .tags(tags)
+                    .tag("cache", cache.getName())
+                    .description("Cache misses that waited on another caller's load instead of loading")
+                    .register(registry);
+            FunctionCounter.builder("cache.refreshes.early", cache, SingleFlightCache::earlyRefreshes)
+                    .tags(tags)
+                    .tag("cache", cache.getName())
+                    .description("Entries reloaded early by the reading caller, picked probabilistically as they near expiry")
+                    .register(registry);
+        };
+    }
+
+    private static MeterBinder innerBinder(Cache delegate, Iterable<Tag> tags) {
+        if (delegate instanceof TwoLevelCache twoLevel) {
+            return new TwoLevelCacheMeterBinderProvider().getMeterBinder(twoLevel, tags);
+        }
+        if (delegate instanceof CaffeineCache caffeine) {
+            return new CaffeineCacheMeterBinderProvider().getMeterBinder(caffeine, tags);
+        }
+        if (delegate instanceof RedisCache redis) {
+            return new RedisCacheMeterBinderProvider().getMeterBinder(redis, tags);
+        }
+        return null;
+    }
+}
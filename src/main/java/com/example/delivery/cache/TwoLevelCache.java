@@ -0,0 +1,167 @@
+package com.example.delivery.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus bus;
+    private final String origin;
+    // Bumped before every local invalidation; a remote read only fills the local tier when no invalidation
+    // arrived while it was in flight, otherwise it could put back a value another node has just replaced
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                         CacheInvalidationBus bus, String origin) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.bus = bus;
+        this.origin = origin;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return new SimpleValueWrapper(fromStore(cached));
+        }
+        long seen = invalidations.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null) {
+            fillLocal(localKey, wrapper.get(), seen);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return (T) fromStore(cached);
+        }
+        long seen = invalidations.get();
+        T value = remote.get(key, valueLoader);
+        fillLocal(localKey, value, seen);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        invalidations.incrementAndGet();
+        local.put(localKey, toStore(value));
+        publish(localKey);
+    }
+
+    // Stores a freshly loaded value in both tiers without publishing an invalidation
+    void putLoaded(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), toStore(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        publish(localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        publish(localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        publish(null);
+    }
+
+    void evictLocal(String localKey) {
+        invalidateLocal(localKey);
+    }
+
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private void invalidateLocal(String localKey) {
+        invalidations.incrementAndGet();
+        local.invalidate(localKey);
+    }
+
+    // Invalidators bump the counter before touching the local tier, so re-checking after the put also catches
+    // an invalidation that raced with it
+    private void fillLocal(String localKey, Object value, long seen) {
+        if (invalidations.get() != seen) {
+            return;
+        }
+        local.put(localKey, toStore(value));
+        if (invalidations.get() != seen) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private void publish(String localKey) {
+        bus.publish(new CacheInvalidation(origin, name, localKey));
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Object toStore(Object value) {
+        return value == null ? NullValue.INSTANCE : value;
+    }
+
+    private static Object fromStore(Object value) {
+        return value == NullValue.INSTANCE ? null : value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.delivery.config;
+
+import com.example.delivery.cache.IdempotencyRecord;
+import com.example.delivery.cache.LocalOrderIdempotencyStore;
+import com.example.delivery.cache.OrderIdempotencyStore;
+import com.example.delivery.cache.RedisOrderIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public OrderIdempotencyStore redisOrderIdempotencyStore(RedisConnectionFactory connectionFactory,
+                                                            ObjectMapper objectMapper,
+                                                            @Value("${delivery.idempotency.ttl:24h}") Duration ttl,
+                                                            @Value("${delivery.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        RedisTemplate<String, IdempotencyRecord> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, IdempotencyRecord.class));
+        template.afterPropertiesSet();
+        return new RedisOrderIdempotencyStore(template, ttl, waitTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public OrderIdempotencyStore localOrderIdempotencyStore(@Value("${delivery.idempotency.ttl:24h}") Duration ttl,
+                                                            @Value("${delivery.idempotency.local.maximum-size:100000}") long maximumSize,
+                                                            @Value("${delivery.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        return new LocalOrderIdempotencyStore(ttl, maximumSize, waitTimeout);
+    }
+}
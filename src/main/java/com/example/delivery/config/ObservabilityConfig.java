@@ -0,0 +1,51 @@
+package com.example.delivery.config;
+
+import com.example.delivery.observability.JdbcStatementCounter;
+import com.example.delivery.observability.JdbcStatementMetricsFilter;
+import com.example.delivery.observability.StatementBudgetInterceptor;
+import com.example.delivery.observability.StatementBudgetMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public JdbcStatementCounter jdbcStatementCounter() {
+        return new JdbcStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(JdbcStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<JdbcStatementMetricsFilter> jdbcStatementMetricsFilter(
+            JdbcStatementCounter counter, MeterRegistry registry,
+            @Value("${delivery.sql-budget.mode:WARN}") StatementBudgetMode budgetMode) {
+        FilterRegistrationBean<JdbcStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new JdbcStatementMetricsFilter(counter, registry, budgetMode));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer statementBudgetConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new StatementBudgetInterceptor()).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
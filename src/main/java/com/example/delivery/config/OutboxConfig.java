@@ -0,0 +1,65 @@
+package com.example.delivery.config;
+
+import com.example.delivery.events.LocalOrderEventBus;
+import com.example.delivery.events.OrderEventBus;
+import com.example.delivery.events.OrderEventFeed;
+import com.example.delivery.events.OrderStatusHub;
+import com.example.delivery.events.RedisOrderEventBus;
+import com.example.delivery.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig implements DisposableBean {
+
+    // SSE sends and long-poll wake-ups run on virtual threads so a slow client only parks its own task. Deliberately
+    // not a bean: an Executor bean would replace Boot's applicationTaskExecutor used by MVC async requests
+    private final ExecutorService eventExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public OrderEventBus redisOrderEventBus(RedisConnectionFactory connectionFactory,
+                                            RedisMessageListenerContainer container, ObjectMapper objectMapper,
+                                            @Value("${delivery.outbox.channel:delivery:orders:events}") String channel) {
+        return new RedisOrderEventBus(connectionFactory, container, objectMapper, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public OrderEventBus localOrderEventBus() {
+        return new LocalOrderEventBus();
+    }
+
+    @Bean
+    public OrderEventFeed orderEventFeed(OrderOutboxRepository outboxRepository, OrderEventBus eventBus) {
+        OrderEventFeed feed = new OrderEventFeed(outboxRepository, eventExecutor);
+        eventBus.subscribe(feed::onEvents);
+        return feed;
+    }
+
+    @Bean
+    public OrderStatusHub orderStatusHub(OrderEventBus eventBus, MeterRegistry registry,
+                                         @Value("${delivery.sse.buffer-size:256}") int bufferSize) {
+        OrderStatusHub hub = new OrderStatusHub(eventExecutor, bufferSize, registry);
+        eventBus.subscribe(hub::publish);
+        return hub;
+    }
+
+    @Override
+    public void destroy() {
+        // The hub has completed its emitters by now; drains still blocked on a dead client are interrupted
+        eventExecutor.shutdownNow();
+    }
+}
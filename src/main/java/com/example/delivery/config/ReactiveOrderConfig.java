@@ -0,0 +1,63 @@
+package com.example.delivery.config;
+
+import com.example.delivery.cache.ReactiveOrderCache;
+import com.example.delivery.cache.RedisReactiveOrderCache;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.repository.ReactiveOrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+@Configuration
+public class ReactiveOrderConfig {
+
+    @Bean
+    public ReactiveOrderRepository reactiveOrderRepository(@Value("${delivery.reactive.r2dbc.url}") String url,
+                                                           @Value("${delivery.reactive.r2dbc.username:}") String username,
+                                                           @Value("${delivery.reactive.r2dbc.password:}") String password,
+                                                           @Value("${delivery.reactive.r2dbc.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .maxSize(poolSize)
+                .build());
+        return new ReactiveOrderRepository(pool);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public ReactiveOrderCache redisReactiveOrderCache(ReactiveRedisConnectionFactory connectionFactory,
+                                                      ObjectMapper objectMapper,
+                                                      @Value("${delivery.reactive.order-cache-ttl:60s}") Duration ttl) {
+        RedisSerializationContext<String, OrderResponse> context = RedisSerializationContext
+                .<String, OrderResponse>newSerializationContext(RedisSerializer.string())
+                .value(new Jackson2JsonRedisSerializer<>(objectMapper, OrderResponse.class))
+                .build();
+        return new RedisReactiveOrderCache(new ReactiveRedisTemplate<>(connectionFactory, context), ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public ReactiveOrderCache noOpReactiveOrderCache() {
+        return ReactiveOrderCache.noOp();
+    }
+}
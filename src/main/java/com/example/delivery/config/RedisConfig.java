@@ -1,39 +1,140 @@
 package com.example.delivery.config;
 
+import com.example.delivery.cache.BinaryCacheValueSerializer;
+import com.example.delivery.cache.CacheHitRatioMeterBinder;
+import com.example.delivery.cache.CacheInvalidationBus;
+import com.example.delivery.cache.RedisCacheInvalidationBus;
+import com.example.delivery.cache.SingleFlightCacheManager;
+import com.example.delivery.cache.SingleFlightCacheMeterBinderProvider;
+import com.example.delivery.cache.TwoLevelCacheManager;
+import com.example.delivery.cache.TwoLevelCacheMeterBinderProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    static final List<String> CACHE_NAMES = List.of("customers", "customers:list", "products", "products:list");
+    static final Set<String> SINGLE_FLIGHT_CACHES = Set.of("customers", "products");
+    static final Duration REDIS_TTL = Duration.ofMinutes(10);
+
     @Bean
     @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory();
     }
 
     @Bean
     @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                          @Qualifier("nearCacheProperties") LocalCacheProperties nearProperties,
+                                          CacheInvalidationBus invalidationBus,
+                                          @Value("${delivery.cache.near.enabled:true}") boolean nearEnabled,
+                                          @Value("${delivery.cache.redis.serializer:binary}") String serializer,
+                                          @Value("${delivery.cache.early-refresh-beta:1.0}") double earlyRefreshBeta) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10));
-        return RedisCacheManager.builder(connectionFactory).cacheDefaults(config).build();
+                .entryTtl(REDIS_TTL)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer(serializer)));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config)
+                .initialCacheNames(new LinkedHashSet<>(CACHE_NAMES))
+                .enableStatistics()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        CacheManager target = nearEnabled
+                ? new TwoLevelCacheManager(redisCacheManager, nearProperties, invalidationBus)
+                : redisCacheManager;
+        return new SingleFlightCacheManager(target, SINGLE_FLIGHT_CACHES, name -> REDIS_TTL, earlyRefreshBeta);
+    }
+
+    static RedisSerializer<Object> cacheValueSerializer(String name) {
+        return switch (name) {
+            case "binary" -> new BinaryCacheValueSerializer();
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "jdk" -> new JdkSerializationRedisSerializer();
+            default -> throw new IllegalStateException("Unknown delivery.cache.redis.serializer: " + name);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public CacheInvalidationBus cacheInvalidationBus(RedisConnectionFactory connectionFactory,
+                                                     RedisMessageListenerContainer container,
+                                                     @Value("${delivery.cache.near.channel:delivery:cache:invalidation}") String channel) {
+        return new RedisCacheInvalidationBus(connectionFactory, container, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider() {
+        return new TwoLevelCacheMeterBinderProvider();
+    }
+
+    @Bean
+    public SingleFlightCacheMeterBinderProvider singleFlightCacheMeterBinderProvider() {
+        return new SingleFlightCacheMeterBinderProvider();
+    }
+
+    @Bean
+    public CacheHitRatioMeterBinder cacheHitRatioMeterBinder(
+            @Value("${delivery.cache.hit-ratio-window:1m}") Duration window) {
+        return new CacheHitRatioMeterBinder(CACHE_NAMES, window);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "delivery.cache.local")
+    public LocalCacheProperties localCacheProperties() {
+        return new LocalCacheProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "delivery.cache.near")
+    public LocalCacheProperties nearCacheProperties() {
+        return new LocalCacheProperties();
     }
 
     @Bean
     @ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "false", matchIfMissing = true)
-    public CacheManager inMemoryCacheManager() {
-        return new ConcurrentMapCacheManager();
+    public CacheManager inMemoryCacheManager(@Qualifier("localCacheProperties") LocalCacheProperties properties,
+                                             @Value("${delivery.cache.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCaffeine(properties.getDefaults().toCaffeine());
+        Set<String> names = new LinkedHashSet<>(CACHE_NAMES);
+        names.addAll(properties.getCaches().keySet());
+        for (String name : names) {
+            manager.registerCustomCache(name, properties.resolve(name).toCaffeine().build());
+        }
+        return new SingleFlightCacheManager(manager, SINGLE_FLIGHT_CACHES,
+                name -> properties.resolve(name).getExpireAfterWrite(), earlyRefreshBeta);
     }
 }
@@ -0,0 +1,50 @@
+package com.example.delivery.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${delivery.virtual-threads.pinned-threshold:20ms}") Duration threshold, MeterRegistry registry) {
+        return new VirtualThreadPinningMonitor(threshold, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${delivery.virtual-threads.max-in-flight:0}") int maxInFlight,
+            @Value("${delivery.virtual-threads.in-flight-per-connection:2}") int perConnection,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${delivery.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout,
+            ObjectMapper objectMapper) {
+        int limit = maxInFlight(maxInFlight, poolSize, perConnection);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, acquireTimeout, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Every in-flight request may need a connection, so an unset limit follows the pool: a request only holds a
+    // connection for part of its time, hence the small per-connection factor
+    static int maxInFlight(int configured, int poolSize, int perConnection) {
+        if (configured > 0) {
+            return configured;
+        }
+        if (poolSize < 1 || perConnection < 1) {
+            throw new IllegalStateException("maximum-pool-size and in-flight-per-connection must be positive");
+        }
+        return poolSize * perConnection;
+    }
+}
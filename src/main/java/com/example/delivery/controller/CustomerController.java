@@ -2,6 +2,7 @@ package com.example.delivery.controller;
 
 import com.example.delivery.dto.CreateCustomerRequest;
 import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.observability.StatementBudget;
 import com.example.delivery.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,6 +29,7 @@ public class CustomerController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
+    @StatementBudget(2)
     public CustomerDto create(@Valid @RequestBody CreateCustomerRequest req) {
         return service.create(req);
     }
@@ -35,6 +37,7 @@ public class CustomerController {
     @Operation(summary = "List customers")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
     public List<CustomerDto> list() {
         return service.list();
     }
@@ -42,6 +45,7 @@ public class CustomerController {
     @Operation(summary = "Get customer by id")
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
     public CustomerDto get(@PathVariable UUID id) {
         return service.get(id);
     }
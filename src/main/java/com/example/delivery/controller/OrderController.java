@@ -1,17 +1,54 @@
 package com.example.delivery.controller;
 
+import com.example.delivery.cache.OrderIdempotencyStore;
 import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.BulkOrderResponse;
 import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderEventBatch;
 import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.dto.OrderStatusResponse;
+import com.example.delivery.dto.PageResponse;
 import com.example.delivery.dto.UpdateOrderStatusRequest;
+import com.example.delivery.events.OrderEventFeed;
+import com.example.delivery.events.OrderStatusHub;
+import com.example.delivery.exception.BadRequestException;
+import com.example.delivery.observability.StatementBudget;
+import com.example.delivery.service.BulkOrderService;
 import com.example.delivery.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.Callable;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,38 +57,199 @@ import java.util.UUID;
 @Tag(name = "Orders")
 public class OrderController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_EVENTS_PER_POLL = 1000;
+    private static final int MAX_EVENT_WAIT_SECONDS = 30;
+    private static final long SSE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = OrderController.class.getName() + ".exportTimeout";
+
     private final OrderService service;
+    private final BulkOrderService bulkService;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final OrderEventFeed eventFeed;
+    private final OrderStatusHub statusHub;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
 
-    public OrderController(OrderService service) {
+    public OrderController(OrderService service, BulkOrderService bulkService, OrderIdempotencyStore idempotencyStore,
+                           OrderEventFeed eventFeed, OrderStatusHub statusHub, ObjectMapper objectMapper,
+                           @Value("${delivery.export.timeout:30m}") Duration exportTimeout) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.idempotencyStore = idempotencyStore;
+        this.eventFeed = eventFeed;
+        this.statusHub = statusHub;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
     }
 
-    @Operation(summary = "Create an order")
+    @Operation(summary = "Create an order (send Idempotency-Key to make retries safe)")
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
-    public OrderResponse create(@Valid @RequestBody CreateOrderRequest req) {
-        return service.create(req);
+    // Worst case measured by OrderServicePersistenceTest for a 100-line order (item inserts batched by 50, plus the
+    // outbox row); larger orders add one batched insert per 50 lines
+    @StatementBudget(10)
+    public ResponseEntity<OrderResponse> create(@Valid @RequestBody CreateOrderRequest req,
+                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                Principal principal) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.create(req));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY + " must have 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        // Keys are scoped per caller so two clients cannot collide on the same key
+        String key = principal.getName() + ":" + idempotencyKey;
+        OrderIdempotencyStore.Outcome outcome = idempotencyStore.execute(key, fingerprint(req), () -> service.create(req));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.isReplayed()))
+                .body(outcome.getResponse());
+    }
+
+    @Operation(summary = "Create orders in bulk from a JSON array (result per order)")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
+    public BulkOrderResponse createBulk(@RequestBody List<CreateOrderRequest> reqs) {
+        return bulkService.create(reqs.iterator());
+    }
+
+    @Operation(summary = "Create orders in bulk from NDJSON, one order per line (result per line)")
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
+    public BulkOrderResponse createBulkNdjson(Reader body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(body)) {
+            return bulkService.create(reader.lines().filter(line -> !line.isBlank()).map(this::readLine).iterator());
+        }
     }
 
     @Operation(summary = "Update order status")
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
-    public OrderResponse updateStatus(@PathVariable UUID id, @Valid @RequestBody UpdateOrderStatusRequest req) {
+    // Sized for a contended update that retries up to the last attempt, not just the uncontended UPDATE + outbox row
+    @StatementBudget(OrderService.STATUS_UPDATE_MAX_STATEMENTS)
+    public OrderStatusResponse updateStatus(@PathVariable UUID id, @Valid @RequestBody UpdateOrderStatusRequest req) {
         return service.updateStatus(id, req);
     }
 
-    @Operation(summary = "List orders (filter by status)")
+    @Operation(summary = "List orders (filter by status, paged; pass cursor for keyset paging by createdAt)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
-    public List<OrderResponse> list(@RequestParam(value = "status", required = false) OrderStatus status) {
-        return service.list(status);
+    @StatementBudget(3)
+    public PageResponse<OrderResponse> list(@RequestParam(value = "status", required = false) OrderStatus status,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (cursor != null) {
+            return service.scroll(status, cursor, pageable.getPageSize());
+        }
+        return service.list(status, pageable);
+    }
+
+    @Operation(summary = "Export orders as NDJSON (filter by status and createdAt range)")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "status", required = false) OrderStatus status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            NativeWebRequest webRequest) {
+        // The streaming body runs as a Callable without a timeout of its own; set this request's timeout just before
+        // async processing starts, leaving the global default for every other async handler
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest async) {
+                            async.setTimeout(exportTimeout.toMillis());
+                        }
+                    }
+                });
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                gen.setRootValueSeparator(null);
+                service.export(status, from, to, order -> writeLine(gen, order));
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @Operation(summary = "Long-poll order lifecycle events after a sequence (returns as soon as there are any)")
+    @GetMapping("/events")
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
+    public DeferredResult<OrderEventBatch> events(@RequestParam(value = "after", defaultValue = "0") long after,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                  @RequestParam(value = "waitSeconds", defaultValue = "25") int waitSeconds) {
+        if (after < 0 || limit < 1 || limit > MAX_EVENTS_PER_POLL || waitSeconds < 0 || waitSeconds > MAX_EVENT_WAIT_SECONDS) {
+            throw new BadRequestException("after must be >= 0, limit 1 to " + MAX_EVENTS_PER_POLL
+                    + " and waitSeconds 0 to " + MAX_EVENT_WAIT_SECONDS);
+        }
+        DeferredResult<OrderEventBatch> result =
+                new DeferredResult<>(waitSeconds * 1000L, () -> eventFeed.read(after, limit));
+        OrderEventBatch batch = eventFeed.read(after, limit);
+        if (!batch.events.isEmpty() || batch.truncated || waitSeconds == 0) {
+            result.setResult(batch);
+            return result;
+        }
+        // Parks the request without a thread or a query until a relay on any instance announces events past the cursor
+        Runnable cancel = eventFeed.whenAvailable(after, () -> result.setResult(eventFeed.read(after, limit)));
+        result.onCompletion(cancel);
+        return result;
+    }
+
+    @Operation(summary = "Stream status changes of all orders of a customer (Server-Sent Events)")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(0)
+    public SseEmitter streamCustomerOrders(@RequestParam("customerId") UUID customerId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        statusHub.subscribeCustomer(customerId, emitter);
+        return emitter;
+    }
+
+    @Operation(summary = "Stream status changes of an order (Server-Sent Events, current status first)")
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
+    public SseEmitter streamOrder(@PathVariable UUID id) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        statusHub.subscribeOrder(id, emitter, () -> service.statusSnapshot(id));
+        return emitter;
     }
 
     @Operation(summary = "Get order by id")
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(3)
     public OrderResponse get(@PathVariable UUID id) {
         return service.get(id);
     }
+
+    private String fingerprint(CreateOrderRequest req) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(req));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CreateOrderRequest readLine(String line) {
+        try {
+            return objectMapper.readValue(line, CreateOrderRequest.class);
+        } catch (JsonProcessingException e) {
+            return new BulkOrderService.MalformedOrder(e.getOriginalMessage());
+        }
+    }
+
+    private static void writeLine(JsonGenerator gen, OrderResponse order) {
+        try {
+            gen.writeObject(order);
+            gen.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
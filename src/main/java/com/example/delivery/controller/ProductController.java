@@ -2,14 +2,32 @@ package com.example.delivery.controller;
 
 import com.example.delivery.dto.CreateProductRequest;
 import com.example.delivery.dto.ProductDto;
+import com.example.delivery.dto.ProductImportResponse;
+import com.example.delivery.dto.ProductImportRow;
+import com.example.delivery.exception.BadRequestException;
+import com.example.delivery.observability.StatementBudget;
+import com.example.delivery.service.ProductImportService;
 import com.example.delivery.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,23 +36,48 @@ import java.util.UUID;
 @Tag(name = "Products")
 public class ProductController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .build();
+
     private final ProductService service;
+    private final ProductImportService importService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, ProductImportService importService, ObjectMapper objectMapper) {
         this.service = service;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Create a product")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
+    @StatementBudget(2)
     public ProductDto create(@Valid @RequestBody CreateProductRequest req) {
         return service.create(req);
     }
 
+    @Operation(summary = "Import products from CSV (header id,name,price), a JSON array or NDJSON; upserts by id")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','SCOPE_delivery.write')")
+    public ProductImportResponse importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                InputStream body) throws IOException {
+        ObjectReader reader = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? CSV_MAPPER.readerFor(ProductImportRow.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(ProductImportRow.class);
+        try (MappingIterator<ProductImportRow> rows = reader.readValues(body)) {
+            return importService.importProducts(new ImportRows(rows));
+        }
+    }
+
     @Operation(summary = "List products")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
     public List<ProductDto> list() {
         return service.list();
     }
@@ -42,7 +85,44 @@ public class ProductController {
     @Operation(summary = "Get product by id")
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    @StatementBudget(1)
     public ProductDto get(@PathVariable UUID id) {
         return service.get(id);
     }
+
+    // Rows are parsed one at a time while the import consumes them; a row that cannot be parsed stops the import
+    private static final class ImportRows implements Iterator<ProductImportRow> {
+
+        private final MappingIterator<ProductImportRow> rows;
+        private long row;
+
+        private ImportRows(MappingIterator<ProductImportRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return rows.hasNextValue();
+            } catch (IOException e) {
+                // hasNextValue already reads the start of the next row, so the failure belongs to that one
+                throw malformed(row + 1, e);
+            }
+        }
+
+        @Override
+        public ProductImportRow next() {
+            row++;
+            try {
+                return rows.nextValue();
+            } catch (IOException e) {
+                throw malformed(row, e);
+            }
+        }
+
+        private static BadRequestException malformed(long row, IOException e) {
+            String reason = (e instanceof JsonProcessingException jpe) ? jpe.getOriginalMessage() : e.getMessage();
+            return new BadRequestException("Malformed row " + row + ": " + reason);
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.BadRequestException;
+import com.example.delivery.service.ReactiveOrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/reactive/orders")
+@Tag(name = "Orders (reactive reads)")
+public class ReactiveOrderController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ReactiveOrderService service;
+
+    public ReactiveOrderController(ReactiveOrderService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Get order by id (non-blocking)")
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    public Mono<OrderResponse> get(@PathVariable UUID id) {
+        return service.get(id);
+    }
+
+    @Operation(summary = "Latest orders with a status (non-blocking)")
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_delivery_admin','ROLE_delivery_user','SCOPE_delivery','SCOPE_delivery.read')")
+    public Flux<OrderResponse> latest(@RequestParam("status") OrderStatus status,
+                                      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return service.latestByStatus(status, limit);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.delivery.domain;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,30 @@
+package com.example.delivery.domain;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+public class OrderItemIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "delivery.order_items.id_allocation_size";
+
+    private final OrderItemSequence config;
+
+    public OrderItemIdGenerator(OrderItemSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class).getSettings().get(ALLOCATION_SIZE_SETTING);
+        parameters.setProperty(INCREMENT_PARAM, allocationSize != null ? allocationSize.toString() : String.valueOf(config.allocationSize()));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.delivery.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Pooled sequence for order item ids; delivery.order_items.id_allocation_size overrides allocationSize
+@IdGeneratorType(OrderItemIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface OrderItemSequence {
+
+    String sequenceName() default "order_items_seq";
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,86 @@
+package com.example.delivery.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Written in the same transaction as the order change and published later by the outbox relay, which numbers the
+// published rows with publish_seq: a gap-free, cluster-wide cursor for consumers
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_published_at_id", columnList = "published_at, id"),
+        @Index(name = "idx_order_outbox_publish_seq", columnList = "publish_seq", unique = true)})
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status;
+
+    @CreationTimestamp
+    @Column(name = "occurred_at")
+    private OffsetDateTime occurredAt;
+
+    @Column(name = "published_at")
+    private OffsetDateTime publishedAt;
+
+    @Column(name = "publish_seq")
+    private Long publishSeq;
+
+    // Version of the order after this change, so consumers can drop an event older than what they already have
+    @Column(name = "order_version")
+    private Long orderVersion;
+
+    public static OrderOutboxEvent of(UUID orderId, UUID customerId, OrderEventType type, OrderStatus status,
+                                      Long orderVersion) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setOrderId(orderId);
+        event.setCustomerId(customerId);
+        event.setType(type);
+        event.setStatus(status);
+        event.setOrderVersion(orderVersion);
+        return event;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public UUID getOrderId() { return orderId; }
+    public void setOrderId(UUID orderId) { this.orderId = orderId; }
+
+    public UUID getCustomerId() { return customerId; }
+    public void setCustomerId(UUID customerId) { this.customerId = customerId; }
+
+    public OrderEventType getType() { return type; }
+    public void setType(OrderEventType type) { this.type = type; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public OffsetDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(OffsetDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public OffsetDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(OffsetDateTime publishedAt) { this.publishedAt = publishedAt; }
+
+    public Long getPublishSeq() { return publishSeq; }
+    public void setPublishSeq(Long publishSeq) { this.publishSeq = publishSeq; }
+
+    public Long getOrderVersion() { return orderVersion; }
+    public void setOrderVersion(Long orderVersion) { this.orderVersion = orderVersion; }
+}
@@ -1,9 +1,42 @@
 package com.example.delivery.domain;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELED
+    CANCELED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        // The current status is not a source of itself: OrderService answers a re-send without writing anything
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        allow(CREATED, PROCESSING, CANCELED);
+        allow(PROCESSING, SHIPPED, CANCELED);
+        allow(SHIPPED, DELIVERED);
+        SOURCES.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... targets) {
+        for (OrderStatus target : targets) {
+            SOURCES.get(target).add(from);
+        }
+    }
+
+    public Set<OrderStatus> allowedSources() {
+        return SOURCES.get(this);
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return target.allowedSources().contains(this);
+    }
 }
@@ -10,24 +10,37 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id")})
+@NamedEntityGraph(name = PurchaseOrder.GRAPH_SUMMARY, attributeNodes = @NamedAttributeNode("customer"))
+@NamedEntityGraph(name = PurchaseOrder.GRAPH_DETAIL,
+        attributeNodes = {@NamedAttributeNode("customer"), @NamedAttributeNode(value = "items", subgraph = "items")},
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 public class PurchaseOrder {
 
+    public static final String GRAPH_SUMMARY = "PurchaseOrder.summary";
+    public static final String GRAPH_DETAIL = "PurchaseOrder.detail";
+
     @Id
     @GeneratedValue
     @UuidGenerator
     private UUID id;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Customer customer;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status = OrderStatus.CREATED;
 
+    @Version
+    private Long version;
+
     @CreationTimestamp
+    @Column(name = "created_at")
     private OffsetDateTime createdAt;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
     public UUID getId() { return id; }
@@ -39,6 +52,9 @@ public class PurchaseOrder {
     public OrderStatus getStatus() { return status; }
     public void setStatus(OrderStatus status) { this.status = status; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
 
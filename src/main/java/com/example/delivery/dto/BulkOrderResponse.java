@@ -0,0 +1,11 @@
+package com.example.delivery.dto;
+
+import java.util.List;
+
+public class BulkOrderResponse {
+    public int received;
+    public int created;
+    public int rejected;
+    public int failed;
+    public List<BulkOrderResult> results;
+}
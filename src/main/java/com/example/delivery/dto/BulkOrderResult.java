@@ -0,0 +1,13 @@
+package com.example.delivery.dto;
+
+import java.util.UUID;
+
+public class BulkOrderResult {
+
+    public enum Outcome { CREATED, REJECTED, FAILED }
+
+    public int index;
+    public Outcome outcome;
+    public UUID id;
+    public String error;
+}
@@ -1,8 +1,9 @@
 package com.example.delivery.dto;
 
+import java.io.Serializable;
 import java.util.UUID;
 
-public class CustomerDto {
+public class CustomerDto implements Serializable {
     public UUID id;
     public String name;
     public String email;
@@ -0,0 +1,19 @@
+package com.example.delivery.dto;
+
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public class OrderEvent {
+    public long sequence;
+    public Long eventId;
+    public UUID orderId;
+    public UUID customerId;
+    public OrderEventType type;
+    public OrderStatus status;
+    // Order version after the change; null on events written before it was recorded
+    public Long version;
+    public OffsetDateTime occurredAt;
+}
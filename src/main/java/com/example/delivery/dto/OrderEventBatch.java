@@ -0,0 +1,9 @@
+package com.example.delivery.dto;
+
+import java.util.List;
+
+public class OrderEventBatch {
+    public List<OrderEvent> events;
+    public long next;
+    public boolean truncated;
+}
@@ -10,6 +10,7 @@ import java.util.UUID;
 public class OrderResponse {
     public UUID id;
     public OrderStatus status;
+    public Long version;
     public OffsetDateTime createdAt;
     public CustomerDto customer;
     public List<OrderItemResponse> items;
@@ -0,0 +1,12 @@
+package com.example.delivery.dto;
+
+import com.example.delivery.domain.OrderStatus;
+
+import java.util.UUID;
+
+public class OrderStatusResponse {
+    public UUID id;
+    public OrderStatus status;
+    // Only set when the request sent expectedVersion; otherwise null, read it with GET if needed
+    public Long version;
+}
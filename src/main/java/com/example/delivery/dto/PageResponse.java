@@ -0,0 +1,34 @@
+package com.example.delivery.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+// Offset mode fills page, totalElements and totalPages and leaves nextCursor null; cursor mode (keyset) only knows
+// size and nextCursor, so the offset fields stay null there and nextCursor is null on the last page
+public class PageResponse<T> {
+    public List<T> content;
+    public Integer page;
+    public Integer size;
+    public Long totalElements;
+    public Integer totalPages;
+    public String nextCursor;
+
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        PageResponse<T> resp = new PageResponse<>();
+        resp.content = content;
+        resp.page = page.getNumber();
+        resp.size = page.getSize();
+        resp.totalElements = page.getTotalElements();
+        resp.totalPages = page.getTotalPages();
+        return resp;
+    }
+
+    public static <T> PageResponse<T> ofCursor(List<T> content, int size, String nextCursor) {
+        PageResponse<T> resp = new PageResponse<>();
+        resp.content = content;
+        resp.size = size;
+        resp.nextCursor = nextCursor;
+        return resp;
+    }
+}
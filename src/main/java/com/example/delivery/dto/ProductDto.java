@@ -1,9 +1,10 @@
 package com.example.delivery.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.UUID;
 
-public class ProductDto {
+public class ProductDto implements Serializable {
     public UUID id;
     public String name;
     public BigDecimal price;
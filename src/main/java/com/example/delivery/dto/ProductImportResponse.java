@@ -0,0 +1,12 @@
+package com.example.delivery.dto;
+
+import java.util.List;
+
+public class ProductImportResponse {
+    public long received;
+    public long imported;
+    public long rejected;
+    public List<String> errors;
+    public long elapsedMillis;
+    public long rowsPerSecond;
+}
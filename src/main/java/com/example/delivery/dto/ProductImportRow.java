@@ -0,0 +1,18 @@
+package com.example.delivery.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class ProductImportRow {
+    // Optional: rows with an id update that product (or create it with that id), rows without one create a new product
+    public UUID id;
+    @NotBlank
+    public String name;
+    @NotNull
+    @PositiveOrZero
+    public BigDecimal price;
+}
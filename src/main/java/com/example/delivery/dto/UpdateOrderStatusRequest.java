@@ -6,4 +6,7 @@ import jakarta.validation.constraints.NotNull;
 public class UpdateOrderStatusRequest {
     @NotNull
     public OrderStatus status;
+
+    // Optional: when present the change only applies if the order is still at this version
+    public Long expectedVersion;
 }
@@ -0,0 +1,22 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalOrderEventBus implements OrderEventBus {
+
+    private final List<Consumer<List<OrderEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        listeners.forEach(listener -> listener.accept(events));
+    }
+
+    @Override
+    public void subscribe(Consumer<List<OrderEvent>> listener) {
+        listeners.add(listener);
+    }
+}
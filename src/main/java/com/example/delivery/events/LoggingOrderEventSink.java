@@ -0,0 +1,27 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default downstream: one line per event on the delivery.order-events logger, which a log shipper can forward to
+// dispatch and notification consumers. A broker integration is another OrderEventSink bean next to this one
+@Component
+@ConditionalOnProperty(name = "delivery.outbox.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger("delivery.order-events");
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            log.info("seq={} eventId={} type={} orderId={} customerId={} status={} version={} occurredAt={}",
+                    event.sequence, event.eventId, event.type, event.orderId, event.customerId, event.status,
+                    event.version, event.occurredAt);
+        }
+    }
+}
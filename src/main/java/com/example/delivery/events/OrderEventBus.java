@@ -0,0 +1,14 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Announces committed outbox batches to the live listeners (SSE hub, parked long-polls) of every instance
+public interface OrderEventBus {
+
+    void publish(List<OrderEvent> events);
+
+    void subscribe(Consumer<List<OrderEvent>> listener);
+}
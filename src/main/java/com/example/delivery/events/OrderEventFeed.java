@@ -0,0 +1,81 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+import com.example.delivery.dto.OrderEventBatch;
+import com.example.delivery.repository.OrderOutboxRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Long-poll reads page the outbox by publish_seq, so a cursor means the same on every instance. Bus announcements only
+// wake parked requests; one that misses its wake-up still reads the outbox when the poll times out
+public class OrderEventFeed {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final Executor waker;
+    private final List<Waiter> waiters = new ArrayList<>();
+    private long lastAnnounced;
+
+    public OrderEventFeed(OrderOutboxRepository outboxRepository, Executor waker) {
+        this.outboxRepository = outboxRepository;
+        this.waker = waker;
+    }
+
+    public OrderEventBatch read(long after, int limit) {
+        OrderEventBatch batch = new OrderEventBatch();
+        batch.events = outboxRepository.findPublishedAfter(after, PageRequest.ofSize(limit)).stream()
+                .map(OrderOutboxRelay::toEvent).toList();
+        batch.next = batch.events.isEmpty() ? after : batch.events.get(batch.events.size() - 1).sequence;
+        // publish_seq has no gaps, so a jump past the cursor means those events were already purged
+        batch.truncated = after > 0 && !batch.events.isEmpty() && batch.events.get(0).sequence > after + 1;
+        return batch;
+    }
+
+    public void onEvents(List<OrderEvent> events) {
+        long last = events.stream().mapToLong(e -> e.sequence).max().orElse(0);
+        List<Runnable> woken = new ArrayList<>();
+        synchronized (this) {
+            lastAnnounced = Math.max(lastAnnounced, last);
+            for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (waiter.after < last) {
+                    woken.add(waiter.callback);
+                    it.remove();
+                }
+            }
+        }
+        // The callbacks read the outbox, keep that off the relay and Redis listener threads
+        woken.forEach(waker::execute);
+    }
+
+    // Runs the callback once events after the cursor were announced; the returned handle cancels a waiting callback
+    public Runnable whenAvailable(long after, Runnable callback) {
+        Waiter waiter = new Waiter(after, callback);
+        synchronized (this) {
+            if (lastAnnounced <= after) {
+                waiters.add(waiter);
+                return () -> cancel(waiter);
+            }
+        }
+        waker.execute(callback);
+        return () -> { };
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private static final class Waiter {
+
+        private final long after;
+        private final Runnable callback;
+
+        Waiter(long after, Runnable callback) {
+            this.after = after;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+
+import java.util.List;
+
+// Receives relayed outbox events in id order; throwing rolls the batch back so it is relayed again (at least once)
+public interface OrderEventSink {
+
+    void publish(List<OrderEvent> events);
+}
@@ -0,0 +1,128 @@
+package com.example.delivery.events;
+
+import com.example.delivery.domain.OrderOutboxEvent;
+import com.example.delivery.dto.OrderEvent;
+import com.example.delivery.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Drains the order outbox in id order: numbers each locked batch with publish_seq, hands it to every sink and marks it
+// published in one transaction (a failing sink retries the batch), then announces it on the bus once committed.
+// Relays on several instances do not queue on the same rows: only the one holding the oldest pending row relays, the
+// others skip the poll
+@Component
+@ConditionalOnProperty(name = "delivery.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectProvider<OrderEventSink> sinks;
+    private final OrderEventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failures;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OrderOutboxRelay(OrderOutboxRepository outboxRepository, ObjectProvider<OrderEventSink> sinks,
+                            OrderEventBus eventBus, TransactionTemplate transactionTemplate, MeterRegistry registry,
+                            @Value("${delivery.outbox.batch-size:500}") int batchSize,
+                            @Value("${delivery.outbox.retention:24h}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.published = registry.counter("delivery.orders.outbox.published");
+        this.failures = registry.counter("delivery.orders.outbox.failures");
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.poll-interval-ms:200}")
+    public void poll() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Order outbox relay failed, the batch will be retried: {}", e.getMessage());
+        }
+    }
+
+    public int relay() {
+        int total = 0;
+        List<OrderEvent> relayed;
+        do {
+            relayed = transactionTemplate.execute(tx -> relayBatch());
+            if (!relayed.isEmpty()) {
+                published.increment(relayed.size());
+                eventBus.publish(relayed);
+            }
+            total += relayed.size();
+        } while (relayed.size() == batchSize);
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        try {
+            int deleted = transactionTemplate.execute(tx ->
+                    outboxRepository.deletePublishedBefore(OffsetDateTime.now().minus(retention)));
+            if (deleted > 0) {
+                log.info("Purged {} published order outbox events", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Order outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    private List<OrderEvent> relayBatch() {
+        List<OrderOutboxEvent> pending = outboxRepository.lockUnpublished(PageRequest.ofSize(batchSize));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        // Rows skipped as locked sit before this batch while another relay works on them; relaying now would number
+        // later events before earlier ones, so leave the rows to that relay
+        Long oldest = outboxRepository.minUnpublishedId();
+        if (oldest != null && oldest < pending.get(0).getId()) {
+            return List.of();
+        }
+        // Read after the lock so the previous batch is committed; the unique index backs this up
+        long sequence = outboxRepository.maxPublishSeq();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (OrderOutboxEvent row : pending) {
+            row.setPublishSeq(++sequence);
+            row.setPublishedAt(now);
+        }
+        List<OrderEvent> events = pending.stream().map(OrderOutboxRelay::toEvent).toList();
+        sinks.orderedStream().forEach(sink -> sink.publish(events));
+        return events;
+    }
+
+    static OrderEvent toEvent(OrderOutboxEvent row) {
+        OrderEvent event = new OrderEvent();
+        event.sequence = row.getPublishSeq();
+        event.eventId = row.getId();
+        event.orderId = row.getOrderId();
+        event.customerId = row.getCustomerId();
+        event.type = row.getType();
+        event.status = row.getStatus();
+        event.version = row.getOrderVersion();
+        event.occurredAt = row.getOccurredAt();
+        return event;
+    }
+}
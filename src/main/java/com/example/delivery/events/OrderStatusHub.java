@@ -0,0 +1,235 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Fans relayed order events out to SSE subscribers of one order or of all orders of a customer. Each subscriber has
+// a bounded buffer that keeps only the latest event per order; one that still falls behind is disconnected (EventSource
+// reconnects by itself) instead of growing memory or blocking the relay
+public class OrderStatusHub implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusHub.class);
+
+    private final Map<UUID, Set<Subscriber>> byOrder = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscriber>> byCustomer = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor sender;
+    private final int bufferSize;
+    private final Counter sent;
+    private final Counter overflows;
+
+    public OrderStatusHub(Executor sender, int bufferSize, MeterRegistry registry) {
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.sent = registry.counter("delivery.orders.sse.events");
+        this.overflows = registry.counter("delivery.orders.sse.overflows");
+        registry.gaugeCollectionSize("delivery.orders.sse.subscribers", List.of(), subscribers);
+    }
+
+    // Registers before reading the snapshot so a change committed in between is relayed, not lost; the snapshot carries
+    // the order version, so if that change is sent first the older snapshot is dropped instead of overwriting it
+    public void subscribeOrder(UUID orderId, SseEmitter emitter, Supplier<OrderEvent> snapshot) {
+        Subscriber subscriber = new Subscriber(emitter, byOrder, orderId);
+        register(subscriber);
+        try {
+            subscriber.offer(snapshot.get());
+        } catch (RuntimeException e) {
+            subscriber.unregister();
+            throw e;
+        }
+    }
+
+    public void subscribeCustomer(UUID customerId, SseEmitter emitter) {
+        register(new Subscriber(emitter, byCustomer, customerId));
+    }
+
+    public void publish(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            offer(byOrder.get(event.orderId), event);
+            if (event.customerId != null) {
+                offer(byCustomer.get(event.customerId), event);
+            }
+        }
+    }
+
+    // Keeps idle connections from being cut by proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${delivery.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void register(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.unregister());
+        subscriber.index.computeIfAbsent(subscriber.key, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscribers.add(subscriber);
+    }
+
+    private static void offer(Set<Subscriber> targets, OrderEvent event) {
+        if (targets != null) {
+            targets.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<UUID, Set<Subscriber>> index;
+        private final UUID key;
+        private final Map<UUID, OrderEvent> pending = new LinkedHashMap<>();
+        // Only touched by the single running drain
+        private final Map<UUID, Long> sentVersions = new HashMap<>();
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Map<UUID, Set<Subscriber>> index, UUID key) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+        }
+
+        void offer(OrderEvent event) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                OrderEvent previous = pending.remove(event.orderId);
+                if (previous != null && isNewer(previous, event)) {
+                    // Events relayed by another node can arrive out of order, keep the newest one
+                    event = previous;
+                }
+                if (pending.size() >= bufferSize) {
+                    closed = true;
+                    overflow = true;
+                } else {
+                    pending.put(event.orderId, event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (overflow) {
+                overflows.increment();
+                log.debug("Disconnecting slow SSE subscriber of {}", key);
+                unregister();
+                emitter.complete();
+                return;
+            }
+            sender.execute(this::drain);
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed || draining) {
+                    return;
+                }
+                heartbeatDue = true;
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        void unregister() {
+            synchronized (this) {
+                closed = true;
+            }
+            subscribers.remove(this);
+            index.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+
+        // Only one drain runs per subscriber at a time, so sends on the emitter never interleave
+        private void drain() {
+            while (true) {
+                List<OrderEvent> batch;
+                boolean ping;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !heartbeatDue)) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    ping = heartbeatDue;
+                    heartbeatDue = false;
+                }
+                try {
+                    if (ping) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (OrderEvent event : batch) {
+                        if (isStale(event)) {
+                            continue;
+                        }
+                        emitter.send(toSse(event));
+                        sent.increment();
+                        if (event.version != null) {
+                            sentVersions.put(event.orderId, event.version);
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    unregister();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        // Older than what this client already has; a snapshot at the version already sent adds nothing either
+        private boolean isStale(OrderEvent event) {
+            Long last = sentVersions.get(event.orderId);
+            if (last == null || event.version == null) {
+                return false;
+            }
+            return event.version < last || (event.version.equals(last) && event.eventId == null);
+        }
+
+        // Orders by order version; events without one fall back to eventId, where the snapshot (no eventId) loses
+        private static boolean isNewer(OrderEvent candidate, OrderEvent other) {
+            if (candidate.version != null && other.version != null && !candidate.version.equals(other.version)) {
+                return candidate.version > other.version;
+            }
+            return candidate.eventId != null && (other.eventId == null || candidate.eventId > other.eventId);
+        }
+
+        private static SseEmitter.SseEventBuilder toSse(OrderEvent event) {
+            if (event.eventId == null) {
+                return SseEmitter.event().name("snapshot").data(event);
+            }
+            return SseEmitter.event().id(String.valueOf(event.eventId)).name("status").data(event);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.delivery.events;
+
+import com.example.delivery.dto.OrderEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Each instance relays whatever batch it locked, so batches go through a Redis channel and every instance hears them.
+// Pub/sub is fire and forget: consumers that need every event read them back by publish_seq
+public class RedisOrderEventBus implements OrderEventBus, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisOrderEventBus.class);
+    private static final TypeReference<List<OrderEvent>> EVENTS = new TypeReference<>() { };
+
+    private final RedisConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final byte[] channelBytes;
+    private final List<Consumer<List<OrderEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisOrderEventBus(RedisConnectionFactory connectionFactory, RedisMessageListenerContainer container,
+                              ObjectMapper objectMapper, String channel) {
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+        container.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.publish(channelBytes, objectMapper.writeValueAsBytes(events));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not publish {} order events, delivering them locally only: {}", events.size(), e.getMessage());
+            deliver(events);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<OrderEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<OrderEvent> events;
+        try {
+            events = objectMapper.readValue(message.getBody(), EVENTS);
+        } catch (IOException e) {
+            log.warn("Ignoring order event message: {}", e.getMessage());
+            return;
+        }
+        deliver(events);
+    }
+
+    private void deliver(List<OrderEvent> events) {
+        listeners.forEach(listener -> listener.accept(events));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.delivery.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) { super(message); }
+}
@@ -0,0 +1,5 @@
+package com.example.delivery.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) { super(message); }
+}
@@ -1,6 +1,7 @@
 package com.example.delivery.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,6 +21,36 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(err);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequest(BadRequestException ex, HttpServletRequest request) {
+        ApiError err = new ApiError();
+        err.status = HttpStatus.BAD_REQUEST.value();
+        err.error = "Bad Request";
+        err.message = ex.getMessage();
+        err.path = request.getRequestURI();
+        return ResponseEntity.badRequest().body(err);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiError> handleConflict(ConflictException ex, HttpServletRequest request) {
+        ApiError err = new ApiError();
+        err.status = HttpStatus.CONFLICT.value();
+        err.error = "Conflict";
+        err.message = ex.getMessage();
+        err.path = request.getRequestURI();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        ApiError err = new ApiError();
+        err.status = HttpStatus.CONFLICT.value();
+        err.error = "Conflict";
+        err.message = "Resource was modified concurrently, reload and try again";
+        err.path = request.getRequestURI();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
         ApiError err = new ApiError();
@@ -0,0 +1,36 @@
+package com.example.delivery.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class JdbcStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void begin() {
+        current.set(new int[1]);
+    }
+
+    public int end() {
+        int[] count = current.get();
+        current.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    public int count() {
+        int[] count = current.get();
+        return count == null ? 0 : count[0];
+    }
+}
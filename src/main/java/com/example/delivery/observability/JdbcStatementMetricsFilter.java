@@ -0,0 +1,73 @@
+package com.example.delivery.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "delivery.http.jdbc.statements";
+    static final String OVER_BUDGET_METRIC = "delivery.http.jdbc.statements.over.budget";
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcStatementMetricsFilter.class);
+
+    private final JdbcStatementCounter counter;
+    private final MeterRegistry registry;
+    private final StatementBudgetMode budgetMode;
+
+    public JdbcStatementMetricsFilter(JdbcStatementCounter counter, MeterRegistry registry, StatementBudgetMode budgetMode) {
+        this.counter = counter;
+        this.registry = registry;
+        this.budgetMode = budgetMode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = counter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(METRIC)
+                    .description("JDBC statements prepared while serving one request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(registry)
+                    .record(statements);
+            checkBudget(request, uri, statements);
+        }
+    }
+
+    // Only counts and warns: the response is committed by now, so FAIL mode is enforced by StatementBudgetAdvice
+    private void checkBudget(HttpServletRequest request, String uri, int statements) {
+        if (budgetMode == StatementBudgetMode.OFF
+                || !(request.getAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE) instanceof StatementBudgetInterceptor.Budget budget)
+                || statements <= budget.getLimit()) {
+            return;
+        }
+        Counter.builder(OVER_BUDGET_METRIC)
+                .description("Requests that issued more JDBC statements than their handler's budget")
+                .tag("handler", budget.getHandler())
+                .register(registry)
+                .increment();
+        String message = String.format("%s %s (%s) issued %d SQL statements, budget is %d",
+                request.getMethod(), uri, budget.getHandler(), statements, budget.getLimit());
+        log.warn(message);
+    }
+}
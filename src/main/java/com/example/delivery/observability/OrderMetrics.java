@@ -0,0 +1,39 @@
+package com.example.delivery.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderMetrics {
+
+    private final DistributionSummary lineItems;
+    private final MeterRegistry registry;
+    private final Counter statusRetries;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.statusRetries = Counter.builder("delivery.orders.status.retries")
+                .description("Status updates retried after the order changed concurrently")
+                .register(registry);
+        this.lineItems = DistributionSummary.builder("delivery.orders.line.items")
+                .description("Line items per created order")
+                .baseUnit("items")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100.0)
+                .register(registry);
+    }
+
+    public void orderCreated(int items) {
+        lineItems.record(items);
+    }
+
+    public void statusConflict(String reason) {
+        registry.counter("delivery.orders.status.conflicts", "reason", reason).increment();
+    }
+
+    public void statusRetried() {
+        statusRetries.increment();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.delivery.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// In FAIL mode, fails an over-budget request before its body is written, while it can still become a 500;
+// by the time the filter sees the final count the response is already committed
+@ControllerAdvice
+public class StatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String EXCEEDED_ATTRIBUTE = StatementBudgetAdvice.class.getName() + ".exceeded";
+
+    private final ObjectProvider<JdbcStatementCounter> counter;
+    private final StatementBudgetMode budgetMode;
+
+    public StatementBudgetAdvice(ObjectProvider<JdbcStatementCounter> counter,
+                                 @Value("${delivery.sql-budget.mode:WARN}") StatementBudgetMode budgetMode) {
+        this.counter = counter;
+        this.budgetMode = budgetMode;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return budgetMode == StatementBudgetMode.FAIL;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        JdbcStatementCounter statements = counter.getIfAvailable();
+        if (statements == null || !statements.isActive() || !(request instanceof ServletServerHttpRequest servlet)) {
+            return body;
+        }
+        HttpServletRequest http = servlet.getServletRequest();
+        // The error body goes through this advice too: fail once
+        if (http.getAttribute(EXCEEDED_ATTRIBUTE) == null
+                && http.getAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE) instanceof StatementBudgetInterceptor.Budget budget
+                && statements.count() > budget.getLimit()) {
+            http.setAttribute(EXCEEDED_ATTRIBUTE, Boolean.TRUE);
+            throw new StatementBudgetExceededException(String.format("%s %s (%s) issued %d SQL statements, budget is %d",
+                    http.getMethod(), http.getRequestURI(), budget.getHandler(), statements.count(), budget.getLimit()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.delivery.observability;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String message) { super(message); }
+}
@@ -0,0 +1,42 @@
+package com.example.delivery.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    static final String BUDGET_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".budget";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), StatementBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), StatementBudget.class);
+            }
+            if (budget != null) {
+                String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+                request.setAttribute(BUDGET_ATTRIBUTE, new Budget(name, budget.value()));
+            }
+        }
+        return true;
+    }
+
+    static final class Budget {
+
+        private final String handler;
+        private final int limit;
+
+        Budget(String handler, int limit) {
+            this.handler = handler;
+            this.limit = limit;
+        }
+
+        String getHandler() { return handler; }
+
+        int getLimit() { return limit; }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.delivery.observability;
+
+public enum StatementBudgetMode {
+    OFF,
+    WARN,
+    FAIL
+}
@@ -0,0 +1,58 @@
+package com.example.delivery.repository;
+
+import com.example.delivery.domain.OrderOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    // SKIP LOCKED (lock timeout -2): a relay on another instance gets the rows behind the locked batch, or nothing,
+    // instead of waiting; OrderOutboxRelay then backs off unless it holds the oldest pending row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OrderOutboxEvent e where e.publishedAt is null order by e.id")
+    List<OrderOutboxEvent> lockUnpublished(Pageable pageable);
+
+    // Also sees rows another relay has locked but not yet marked published
+    @Query("select min(e.id) from OrderOutboxEvent e where e.publishedAt is null")
+    Long minUnpublishedId();
+
+    @Query("select coalesce(max(e.publishSeq), 0) from OrderOutboxEvent e")
+    long maxPublishSeq();
+
+    @Query("select e from OrderOutboxEvent e where e.publishSeq > :after order by e.publishSeq")
+    List<OrderOutboxEvent> findPublishedAfter(@Param("after") long after, Pageable pageable);
+
+    // Reads the status and customer from the row the UPDATE just changed, so the event needs no extra round trip
+    @Modifying
+    @Query(value = "insert into order_outbox (order_id, customer_id, type, status, order_version, occurred_at) "
+            + "select o.id, o.customer_id, 'STATUS_CHANGED', cast(o.status as varchar(32)), coalesce(o.version, 0), "
+            + "current_timestamp from orders o where o.id = :id",
+            nativeQuery = true)
+    int insertStatusChangedEvent(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "insert into order_outbox (order_id, customer_id, type, status, order_version, occurred_at) "
+            + "select o.id, o.customer_id, 'CREATED', cast(o.status as varchar(32)), coalesce(o.version, 0), "
+            + "current_timestamp from orders o where o.id in (:ids)",
+            nativeQuery = true)
+    int insertCreatedEvents(@Param("ids") Collection<UUID> ids);
+
+    // Keeps the newest published row so publish_seq never restarts, even after a long quiet period
+    @Modifying
+    @Query("delete from OrderOutboxEvent e where e.publishedAt < :before "
+            + "and e.publishSeq < (select max(x.publishSeq) from OrderOutboxEvent x)")
+    int deletePublishedBefore(@Param("before") OffsetDateTime before);
+}
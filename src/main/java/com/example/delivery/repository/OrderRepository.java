@@ -2,11 +2,93 @@ package com.example.delivery.repository;
 
 import com.example.delivery.domain.OrderStatus;
 import com.example.delivery.domain.PurchaseOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<PurchaseOrder, UUID> {
+    @EntityGraph(PurchaseOrder.GRAPH_SUMMARY)
     List<PurchaseOrder> findByStatus(OrderStatus status);
+
+    @EntityGraph(PurchaseOrder.GRAPH_DETAIL)
+    Optional<PurchaseOrder> findDetailById(UUID id);
+
+    @Query("select o.status as status, coalesce(o.version, 0) as version from PurchaseOrder o where o.id = :id")
+    Optional<StatusVersion> findStatusVersionById(@Param("id") UUID id);
+
+    // Rows created before the version column existed have a null version and count as 0
+    @Modifying
+    @Query("update PurchaseOrder o set o.status = :to, o.version = coalesce(o.version, 0) + 1 "
+            + "where o.id = :id and o.status in :from")
+    int transitionStatus(@Param("id") UUID id, @Param("from") Collection<OrderStatus> from, @Param("to") OrderStatus to);
+
+    @Modifying
+    @Query("update PurchaseOrder o set o.status = :to, o.version = coalesce(o.version, 0) + 1 "
+            + "where o.id = :id and o.status in :from and coalesce(o.version, 0) = :version")
+    int transitionStatusAtVersion(@Param("id") UUID id, @Param("from") Collection<OrderStatus> from,
+                                  @Param("to") OrderStatus to, @Param("version") long version);
+
+    @Query(value = "select o.id from PurchaseOrder o",
+            countQuery = "select count(o) from PurchaseOrder o")
+    Page<UUID> findPageIds(Pageable pageable);
+
+    @Query(value = "select o.id from PurchaseOrder o where o.status = :status",
+            countQuery = "select count(o) from PurchaseOrder o where o.status = :status")
+    Page<UUID> findPageIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query("select o.id from PurchaseOrder o order by o.createdAt desc, o.id desc")
+    List<UUID> findKeysetIds(Pageable pageable);
+
+    @Query("select o.id from PurchaseOrder o where o.status = :status order by o.createdAt desc, o.id desc")
+    List<UUID> findKeysetIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query("select o.id from PurchaseOrder o where o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id) "
+            + "order by o.createdAt desc, o.id desc")
+    List<UUID> findKeysetIdsAfter(@Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("select o.id from PurchaseOrder o where o.status = :status "
+            + "and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)) "
+            + "order by o.createdAt desc, o.id desc")
+    List<UUID> findKeysetIdsByStatusAfter(@Param("status") OrderStatus status, @Param("createdAt") OffsetDateTime createdAt,
+                                          @Param("id") UUID id, Pageable pageable);
+
+    @EntityGraph(PurchaseOrder.GRAPH_DETAIL)
+    @Query("select o from PurchaseOrder o where o.id in :ids")
+    List<PurchaseOrder> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from PurchaseOrder o join fetch o.customer left join fetch o.items i left join fetch i.product "
+            + "where o.createdAt >= :from and o.createdAt < :to order by o.createdAt, o.id")
+    Stream<PurchaseOrder> streamForExport(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from PurchaseOrder o join fetch o.customer left join fetch o.items i left join fetch i.product "
+            + "where o.status = :status and o.createdAt >= :from and o.createdAt < :to order by o.createdAt, o.id")
+    Stream<PurchaseOrder> streamForExportByStatus(@Param("status") OrderStatus status, @Param("from") OffsetDateTime from,
+                                                  @Param("to") OffsetDateTime to);
+
+    interface StatusVersion {
+        OrderStatus getStatus();
+        Long getVersion();
+    }
 }
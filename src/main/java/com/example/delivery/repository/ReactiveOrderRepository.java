@@ -0,0 +1,137 @@
+package com.example.delivery.repository;
+
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.dto.OrderItemResponse;
+import com.example.delivery.dto.OrderResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ReactiveOrderRepository implements DisposableBean {
+
+    private static final String SELECT_COLUMNS = "select o.id, cast(o.status as varchar(32)) as status, coalesce(o.version, 0) as version, "
+            + "o.created_at, "
+            + "c.id as customer_id, c.name as customer_name, c.email as customer_email, c.phone as customer_phone, "
+            + "p.id as product_id, p.name as product_name, i.quantity, i.unit_price ";
+
+    private static final String JOIN_DETAILS = "join customers c on c.id = o.customer_id "
+            + "left join order_items i on i.order_id = o.id "
+            + "left join products p on p.id = i.product_id ";
+
+    private static final String FIND_BY_ID = SELECT_COLUMNS
+            + "from orders o " + JOIN_DETAILS
+            + "where o.id = :id order by i.id";
+
+    private static final String FIND_LATEST_BY_STATUS = SELECT_COLUMNS
+            + "from (select id, status, version, created_at, customer_id from orders where status = :status "
+            + "order by created_at desc, id desc limit :limit) o " + JOIN_DETAILS
+            + "order by o.created_at desc, o.id desc, i.id";
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient client;
+
+    public ReactiveOrderRepository(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        this.client = DatabaseClient.create(connectionFactory);
+    }
+
+    public Mono<OrderResponse> findById(UUID id) {
+        return group(client.sql(FIND_BY_ID).bind("id", id).map(OrderRow::read).all()).next();
+    }
+
+    public Flux<OrderResponse> findLatestByStatus(OrderStatus status, int limit) {
+        return group(client.sql(FIND_LATEST_BY_STATUS)
+                .bind("status", status.name())
+                .bind("limit", limit)
+                .map(OrderRow::read)
+                .all());
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private static Flux<OrderResponse> group(Flux<OrderRow> rows) {
+        return rows.bufferUntilChanged(row -> row.orderId).map(ReactiveOrderRepository::toResponse);
+    }
+
+    private static OrderResponse toResponse(List<OrderRow> rows) {
+        OrderRow first = rows.get(0);
+        OrderResponse resp = new OrderResponse();
+        resp.id = first.orderId;
+        resp.status = OrderStatus.valueOf(first.status);
+        resp.version = first.version;
+        resp.createdAt = first.createdAt;
+        CustomerDto customer = new CustomerDto();
+        customer.id = first.customerId;
+        customer.name = first.customerName;
+        customer.email = first.customerEmail;
+        customer.phone = first.customerPhone;
+        resp.customer = customer;
+        List<OrderItemResponse> items = new ArrayList<>(rows.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderRow row : rows) {
+            if (row.productId == null) {
+                continue;
+            }
+            OrderItemResponse ir = new OrderItemResponse();
+            ir.productId = row.productId;
+            ir.productName = row.productName;
+            ir.unitPrice = row.unitPrice;
+            ir.quantity = row.quantity;
+            ir.total = row.unitPrice.multiply(BigDecimal.valueOf(row.quantity));
+            items.add(ir);
+            total = total.add(ir.total);
+        }
+        resp.items = items;
+        resp.total = total;
+        return resp;
+    }
+
+    private static final class OrderRow {
+
+        private UUID orderId;
+        private String status;
+        private Long version;
+        private OffsetDateTime createdAt;
+        private UUID customerId;
+        private String customerName;
+        private String customerEmail;
+        private String customerPhone;
+        private UUID productId;
+        private String productName;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+
+        private static OrderRow read(Readable row) {
+            OrderRow r = new OrderRow();
+            r.orderId = row.get("id", UUID.class);
+            r.status = row.get("status", String.class);
+            r.version = row.get("version", Long.class);
+            r.createdAt = row.get("created_at", OffsetDateTime.class);
+            r.customerId = row.get("customer_id", UUID.class);
+            r.customerName = row.get("customer_name", String.class);
+            r.customerEmail = row.get("customer_email", String.class);
+            r.customerPhone = row.get("customer_phone", String.class);
+            r.productId = row.get("product_id", UUID.class);
+            r.productName = row.get("product_name", String.class);
+            r.quantity = row.get("quantity", Integer.class);
+            r.unitPrice = row.get("unit_price", BigDecimal.class);
+            return r;
+        }
+    }
+}
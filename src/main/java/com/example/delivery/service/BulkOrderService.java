@@ -0,0 +1,214 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.OrderItem;
+import com.example.delivery.domain.Product;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.BulkOrderResponse;
+import com.example.delivery.dto.BulkOrderResult;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.repository.OrderOutboxRepository;
+import com.example.delivery.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Timed(value = "delivery.service", histogram = true)
+public class BulkOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOrderService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final CustomerService customerService;
+    private final ProductService productService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final OrderMetrics orderMetrics;
+    private final int chunkSize;
+
+    public BulkOrderService(OrderRepository orderRepository, OrderOutboxRepository outboxRepository,
+                            CustomerService customerService, ProductService productService, Validator validator,
+                            TransactionTemplate transactionTemplate, EntityManager entityManager, OrderMetrics orderMetrics,
+                            @Value("${delivery.bulk.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.customerService = customerService;
+        this.productService = productService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.orderMetrics = orderMetrics;
+        this.chunkSize = chunkSize;
+    }
+
+    // A null request or a MalformedOrder stands for an entry that could not be parsed
+    public BulkOrderResponse create(Iterator<CreateOrderRequest> requests) {
+        BulkOrderResponse resp = new BulkOrderResponse();
+        resp.results = new ArrayList<>();
+        List<CreateOrderRequest> chunk = new ArrayList<>(chunkSize);
+        List<BulkOrderResult> chunkResults = new ArrayList<>(chunkSize);
+        while (requests.hasNext()) {
+            CreateOrderRequest req = requests.next();
+            BulkOrderResult result = new BulkOrderResult();
+            result.index = resp.results.size();
+            resp.results.add(result);
+            String error = validate(req);
+            if (error != null) {
+                reject(result, error);
+                continue;
+            }
+            chunk.add(req);
+            chunkResults.add(result);
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, chunkResults);
+                chunk.clear();
+                chunkResults.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, chunkResults);
+        }
+        resp.received = resp.results.size();
+        for (BulkOrderResult result : resp.results) {
+            switch (result.outcome) {
+                case CREATED -> resp.created++;
+                case REJECTED -> resp.rejected++;
+                case FAILED -> resp.failed++;
+            }
+        }
+        return resp;
+    }
+
+    private String validate(CreateOrderRequest req) {
+        if (req == null) {
+            return "Malformed order";
+        }
+        if (req instanceof MalformedOrder malformed) {
+            return "Malformed order: " + malformed.getReason();
+        }
+        if (req.items == null || req.items.isEmpty()) {
+            return "items must not be empty";
+        }
+        String error = firstViolation(validator.validate(req));
+        for (int i = 0; error == null && i < req.items.size(); i++) {
+            OrderItemRequest item = req.items.get(i);
+            error = (item == null) ? "items[" + i + "] must not be null" : firstViolation(validator.validate(item));
+        }
+        return error;
+    }
+
+    private static String firstViolation(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().findFirst().map(v -> v.getPropertyPath() + " " + v.getMessage()).orElse(null);
+    }
+
+    // One transaction per chunk: customers and products are fetched once for the whole chunk, the orders go out
+    // as batched inserts and the persistence context is cleared so a long stream does not accumulate entities
+    private void persistChunk(List<CreateOrderRequest> chunk, List<BulkOrderResult> results) {
+        List<BulkOrderResult> accepted = new ArrayList<>(chunk.size());
+        try {
+            List<PurchaseOrder> saved = transactionTemplate.execute(tx -> {
+                Set<UUID> customerIds = new HashSet<>();
+                Set<UUID> productIds = new HashSet<>();
+                for (CreateOrderRequest req : chunk) {
+                    customerIds.add(req.customerId);
+                    req.items.forEach(item -> productIds.add(item.productId));
+                }
+                Map<UUID, Customer> customers = customerService.findExisting(customerIds);
+                Map<UUID, Product> products = productService.findExisting(productIds);
+
+                List<PurchaseOrder> orders = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    CreateOrderRequest req = chunk.get(i);
+                    Customer customer = customers.get(req.customerId);
+                    List<UUID> missing = req.items.stream().map(item -> item.productId)
+                            .filter(id -> !products.containsKey(id)).distinct().toList();
+                    if (customer == null) {
+                        reject(results.get(i), "Customer not found");
+                    } else if (!missing.isEmpty()) {
+                        reject(results.get(i), "Product not found: " + missing);
+                    } else {
+                        orders.add(toOrder(req, customer, products));
+                        accepted.add(results.get(i));
+                    }
+                }
+                List<PurchaseOrder> persisted = orderRepository.saveAll(orders);
+                entityManager.flush();
+                if (!persisted.isEmpty()) {
+                    // One insert-select writes the CREATED events for the whole chunk
+                    outboxRepository.insertCreatedEvents(persisted.stream().map(PurchaseOrder::getId).toList());
+                }
+                entityManager.clear();
+                return persisted;
+            });
+            for (int i = 0; i < accepted.size(); i++) {
+                PurchaseOrder order = saved.get(i);
+                BulkOrderResult result = accepted.get(i);
+                result.outcome = BulkOrderResult.Outcome.CREATED;
+                result.id = order.getId();
+                orderMetrics.orderCreated(order.getItems().size());
+            }
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            log.warn("Bulk order chunk of {} orders failed: {}", chunk.size(), e.getMessage());
+            for (BulkOrderResult result : accepted) {
+                result.outcome = BulkOrderResult.Outcome.FAILED;
+                result.error = "Chunk could not be saved, retry the order";
+            }
+        }
+    }
+
+    private static PurchaseOrder toOrder(CreateOrderRequest req, Customer customer, Map<UUID, Product> products) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setCustomer(customer);
+        for (OrderItemRequest ir : req.items) {
+            Product p = products.get(ir.productId);
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(p);
+            item.setQuantity(ir.quantity);
+            item.setUnitPrice(p.getPrice());
+            order.getItems().add(item);
+        }
+        return order;
+    }
+
+    private static void reject(BulkOrderResult result, String error) {
+        result.outcome = BulkOrderResult.Outcome.REJECTED;
+        result.error = error;
+    }
+
+    // Placeholder for an entry the caller could not parse, so the rejection can say why
+    public static final class MalformedOrder extends CreateOrderRequest {
+
+        private final String reason;
+
+        public MalformedOrder(String reason) {
+            this.reason = reason;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -5,16 +5,22 @@ import com.example.delivery.dto.CreateCustomerRequest;
 import com.example.delivery.dto.CustomerDto;
 import com.example.delivery.exception.NotFoundException;
 import com.example.delivery.repository.CustomerRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
+@Timed(value = "delivery.service", histogram = true)
 public class CustomerService {
 
     private final CustomerRepository repository;
@@ -24,7 +30,9 @@ public class CustomerService {
     }
 
     @Transactional
-    @CacheEvict(value = {"customers", "customers:list"}, allEntries = true)
+    @Caching(
+            put = @CachePut(value = "customers", key = "#result.id"),
+            evict = @CacheEvict(value = "customers:list", allEntries = true))
     public CustomerDto create(CreateCustomerRequest req) {
         if (repository.existsByEmail(req.email)) {
             throw new IllegalArgumentException("Email already registered");
@@ -39,10 +47,10 @@ public class CustomerService {
 
     @Cacheable(value = "customers:list")
     public List<CustomerDto> list() {
-        return repository.findAll().stream().map(this::toDto).toList();
+        return repository.findAll().stream().map(CustomerService::toDto).toList();
     }
 
-    @Cacheable(value = "customers", key = "#id")
+    @Cacheable(value = "customers", key = "#id", sync = true)
     public CustomerDto get(UUID id) {
         Customer c = repository.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
         return toDto(c);
@@ -52,7 +60,15 @@ public class CustomerService {
         return repository.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
     }
 
-    private CustomerDto toDto(Customer c) {
+    public Map<UUID, Customer> findExisting(Collection<UUID> ids) {
+        Map<UUID, Customer> found = new HashMap<>();
+        for (Customer c : repository.findAllById(ids)) {
+            found.put(c.getId(), c);
+        }
+        return found;
+    }
+
+    static CustomerDto toDto(Customer c) {
         CustomerDto dto = new CustomerDto();
         dto.id = c.getId();
         dto.name = c.getName();
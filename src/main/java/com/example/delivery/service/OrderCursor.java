@@ -0,0 +1,40 @@
+package com.example.delivery.service;
+
+import com.example.delivery.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+public final class OrderCursor {
+
+    private final OffsetDateTime createdAt;
+    private final UUID id;
+
+    private OrderCursor(OffsetDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static String encode(OffsetDateTime createdAt, UUID id) {
+        String raw = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            Instant instant = Instant.parse(raw.substring(0, sep));
+            return new OrderCursor(OffsetDateTime.ofInstant(instant, ZoneOffset.UTC), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public UUID getId() { return id; }
+}
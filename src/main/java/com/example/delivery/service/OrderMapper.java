@@ -0,0 +1,45 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.OrderItem;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.OrderItemResponse;
+import com.example.delivery.dto.OrderResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    public static OrderResponse toResponse(PurchaseOrder order) {
+        OrderResponse resp = new OrderResponse();
+        resp.id = order.getId();
+        resp.status = order.getStatus();
+        resp.version = order.getVersion();
+        resp.createdAt = order.getCreatedAt();
+        resp.customer = CustomerService.toDto(order.getCustomer());
+        List<OrderItemResponse> items = new ArrayList<>(order.getItems().size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : order.getItems()) {
+            OrderItemResponse ir = toItemResponse(item);
+            items.add(ir);
+            total = total.add(ir.total);
+        }
+        resp.items = items;
+        resp.total = total;
+        return resp;
+    }
+
+    public static OrderItemResponse toItemResponse(OrderItem item) {
+        OrderItemResponse ir = new OrderItemResponse();
+        ir.productId = item.getProduct().getId();
+        ir.productName = item.getProduct().getName();
+        ir.unitPrice = item.getUnitPrice();
+        ir.quantity = item.getQuantity();
+        ir.total = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+        return ir;
+    }
+}
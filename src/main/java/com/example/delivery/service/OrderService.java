@@ -1,28 +1,70 @@
 package com.example.delivery.service;
 
+import com.example.delivery.cache.ReactiveOrderCache;
 import com.example.delivery.domain.*;
 import com.example.delivery.dto.*;
+import com.example.delivery.exception.ConflictException;
 import com.example.delivery.exception.NotFoundException;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.repository.OrderOutboxRepository;
 import com.example.delivery.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "delivery.service", histogram = true)
 public class OrderService {
 
+    private static final OffsetDateTime EXPORT_FROM = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+    private static final OffsetDateTime EXPORT_TO = OffsetDateTime.parse("9999-12-31T00:00:00Z");
+    private static final int STATUS_UPDATE_ATTEMPTS = 3;
+    // Worst legal updateStatus path: each attempt is the guarded UPDATE plus either the status/version read (retry,
+    // conflict or re-send) or the outbox insert (success)
+    public static final int STATUS_UPDATE_MAX_STATEMENTS = STATUS_UPDATE_ATTEMPTS * 2;
+    private static final long STATUS_RETRY_BASE_MILLIS = 5;
+
     private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
     private final CustomerService customerService;
     private final ProductService productService;
+    private final EntityManager entityManager;
+    private final OrderMetrics orderMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ReactiveOrderCache orderCache;
 
-    public OrderService(OrderRepository orderRepository, CustomerService customerService, ProductService productService) {
+    public OrderService(OrderRepository orderRepository, OrderOutboxRepository outboxRepository, CustomerService customerService,
+                        ProductService productService, EntityManager entityManager, OrderMetrics orderMetrics,
+                        TransactionTemplate transactionTemplate, ReactiveOrderCache orderCache) {
         this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
         this.customerService = customerService;
         this.productService = productService;
+        this.entityManager = entityManager;
+        this.orderMetrics = orderMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.orderCache = orderCache;
     }
 
     @Transactional
@@ -31,9 +73,10 @@ public class OrderService {
         Customer customer = customerService.findEntity(req.customerId);
         order.setCustomer(customer);
 
+        Map<UUID, Product> products = productService.findEntities(req.items.stream().map(ir -> ir.productId).toList());
         List<OrderItem> items = new ArrayList<>();
         for (OrderItemRequest ir : req.items) {
-            Product p = productService.findEntity(ir.productId);
+            Product p = products.get(ir.productId);
             OrderItem item = new OrderItem();
             item.setOrder(order);
             item.setProduct(p);
@@ -43,45 +86,178 @@ public class OrderService {
         }
         order.setItems(items);
         order = orderRepository.save(order);
-        return toResponse(order);
+        outboxRepository.save(OrderOutboxEvent.of(order.getId(), customer.getId(), OrderEventType.CREATED, order.getStatus(),
+                order.getVersion()));
+        orderMetrics.orderCreated(items.size());
+        return OrderMapper.toResponse(order);
     }
 
-    @Transactional
-    public OrderResponse updateStatus(UUID orderId, UpdateOrderStatusRequest req) {
-        PurchaseOrder order = orderRepository.findById(orderId).orElseThrow(() -> new NotFoundException("Order not found"));
-        order.setStatus(req.status);
-        order = orderRepository.save(order);
-        return toResponse(order);
+    // Each attempt is its own transaction, so the backoff holds no connection and the retried UPDATE sees the
+    // row as committed by whoever won, whatever the isolation level
+    public OrderStatusResponse updateStatus(UUID orderId, UpdateOrderStatusRequest req) {
+        for (int attempt = 1; ; attempt++) {
+            OrderStatusResponse resp = transactionTemplate.execute(tx -> tryUpdateStatus(orderId, req));
+            if (resp != null) {
+                return resp;
+            }
+            if (attempt >= STATUS_UPDATE_ATTEMPTS) {
+                orderMetrics.statusConflict("contention");
+                throw new ConflictException("Order was modified concurrently, try again");
+            }
+            orderMetrics.statusRetried();
+            backoff(attempt);
+        }
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> list(OrderStatus status) {
-        List<PurchaseOrder> orders = (status == null) ? orderRepository.findAll() : orderRepository.findByStatus(status);
-        return orders.stream().map(this::toResponse).toList();
+    public PageResponse<OrderResponse> list(OrderStatus status, Pageable pageable) {
+        Pageable stable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+        Page<UUID> ids = (status == null) ? orderRepository.findPageIds(stable) : orderRepository.findPageIdsByStatus(status, stable);
+        List<OrderResponse> content = loadInOrder(ids.getContent()).stream().map(OrderMapper::toResponse).toList();
+        return PageResponse.of(ids, content);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<OrderResponse> scroll(OrderStatus status, String cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = (status == null) ? orderRepository.findKeysetIds(limit) : orderRepository.findKeysetIdsByStatus(status, limit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            ids = (status == null)
+                    ? orderRepository.findKeysetIdsAfter(after.getCreatedAt(), after.getId(), limit)
+                    : orderRepository.findKeysetIdsByStatusAfter(status, after.getCreatedAt(), after.getId(), limit);
+        }
+        boolean hasNext = ids.size() > size;
+        List<PurchaseOrder> orders = loadInOrder(hasNext ? ids.subList(0, size) : ids);
+
+        String nextCursor = null;
+        if (hasNext) {
+            PurchaseOrder last = orders.get(orders.size() - 1);
+            nextCursor = OrderCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return PageResponse.ofCursor(orders.stream().map(OrderMapper::toResponse).toList(), size, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(OrderStatus status, OffsetDateTime from, OffsetDateTime to, Consumer<OrderResponse> sink) {
+        OffsetDateTime lower = (from == null) ? EXPORT_FROM : from;
+        OffsetDateTime upper = (to == null) ? EXPORT_TO : to;
+        long count = 0;
+        try (Stream<PurchaseOrder> orders = (status == null)
+                ? orderRepository.streamForExport(lower, upper)
+                : orderRepository.streamForExportByStatus(status, lower, upper)) {
+            Iterator<PurchaseOrder> it = orders.iterator();
+            while (it.hasNext()) {
+                PurchaseOrder order = it.next();
+                sink.accept(OrderMapper.toResponse(order));
+                detach(order);
+                count++;
+            }
+        }
+        return count;
     }
 
     @Transactional(readOnly = true)
     public OrderResponse get(UUID id) {
-        PurchaseOrder order = orderRepository.findById(id).orElseThrow(() -> new NotFoundException("Order not found"));
-        return toResponse(order);
+        PurchaseOrder order = orderRepository.findDetailById(id).orElseThrow(() -> new NotFoundException("Order not found"));
+        return OrderMapper.toResponse(order);
+    }
+
+    // Current status for a new live subscriber, read without loading the order graph
+    @Transactional(readOnly = true)
+    public OrderEvent statusSnapshot(UUID id) {
+        OrderRepository.StatusVersion current = orderRepository.findStatusVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Order not found"));
+        OrderEvent snapshot = new OrderEvent();
+        snapshot.orderId = id;
+        snapshot.status = current.getStatus();
+        snapshot.version = (current.getVersion() == null) ? 0L : current.getVersion();
+        return snapshot;
+    }
+
+    // Null when the row changed between the UPDATE and the read and the transition is legal again
+    private OrderStatusResponse tryUpdateStatus(UUID orderId, UpdateOrderStatusRequest req) {
+        Set<OrderStatus> sources = req.status.allowedSources();
+        int updated;
+        if (sources.isEmpty()) {
+            updated = 0;
+        } else if (req.expectedVersion == null) {
+            updated = orderRepository.transitionStatus(orderId, sources, req.status);
+        } else {
+            updated = orderRepository.transitionStatusAtVersion(orderId, sources, req.status, req.expectedVersion);
+        }
+        if (updated > 0) {
+            outboxRepository.insertStatusChangedEvent(orderId);
+            evictAfterCommit(orderId);
+            OrderStatusResponse resp = new OrderStatusResponse();
+            resp.id = orderId;
+            resp.status = req.status;
+            // Without expectedVersion the new version is unknown and stays null: reading it back would cost the
+            // SELECT the single conditional UPDATE avoids
+            resp.version = (req.expectedVersion == null) ? null : req.expectedVersion + 1;
+            return resp;
+        }
+        OrderRepository.StatusVersion current = orderRepository.findStatusVersionById(orderId)
+                .orElseThrow(() -> new NotFoundException("Order not found"));
+        // Re-sending the current status (typically a client retry) answers the current state and writes nothing: no
+        // new version, no outbox event, and no version conflict for a retry that still carries the old expectedVersion
+        if (current.getStatus() == req.status) {
+            OrderStatusResponse resp = new OrderStatusResponse();
+            resp.id = orderId;
+            resp.status = current.getStatus();
+            resp.version = current.getVersion();
+            return resp;
+        }
+        if (!current.getStatus().canTransitionTo(req.status)) {
+            orderMetrics.statusConflict("transition");
+            throw new ConflictException("Cannot change order status from " + current.getStatus() + " to " + req.status);
+        }
+        if (req.expectedVersion != null && !req.expectedVersion.equals(current.getVersion())) {
+            orderMetrics.statusConflict("version");
+            throw new ConflictException("Order is at version " + current.getVersion() + ", expected " + req.expectedVersion);
+        }
+        return null;
+    }
+
+    // Through the reactive cache itself, so the key always matches what it writes; after commit, so a read racing the
+    // update cannot put the old status back
+    private void evictAfterCommit(UUID orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orderCache.evict(orderId).block();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderCache.evict(orderId).block();
+            }
+        });
+    }
+
+    private List<PurchaseOrder> loadInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, PurchaseOrder> byId = orderRepository.findAllWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(PurchaseOrder::getId, Function.identity(), (a, b) -> a));
+        return ids.stream().map(byId::get).toList();
+    }
+
+    private static void backoff(int attempt) {
+        long maxMillis = STATUS_RETRY_BASE_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Order was modified concurrently, try again");
+        }
     }
 
-    private OrderResponse toResponse(PurchaseOrder order) {
-        OrderResponse resp = new OrderResponse();
-        resp.id = order.getId();
-        resp.status = order.getStatus();
-        resp.createdAt = order.getCreatedAt();
-        resp.customer = customerService.get(order.getCustomer().getId());
-        resp.items = order.getItems().stream().map(oi -> {
-            OrderItemResponse ir = new OrderItemResponse();
-            ir.productId = oi.getProduct().getId();
-            ir.productName = oi.getProduct().getName();
-            ir.unitPrice = oi.getUnitPrice();
-            ir.quantity = oi.getQuantity();
-            ir.total = oi.getUnitPrice().multiply(new java.math.BigDecimal(oi.getQuantity()));
-            return ir;
-        }).toList();
-        resp.total = resp.items.stream().map(i -> i.total).reduce(BigDecimal.ZERO, BigDecimal::add);
-        return resp;
+    private void detach(PurchaseOrder order) {
+        entityManager.detach(order);
+        entityManager.detach(order.getCustomer());
+        order.getItems().forEach(item -> entityManager.detach(item.getProduct()));
     }
 }
@@ -5,15 +5,24 @@ import com.example.delivery.dto.CreateProductRequest;
 import com.example.delivery.dto.ProductDto;
 import com.example.delivery.exception.NotFoundException;
 import com.example.delivery.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Timed(value = "delivery.service", histogram = true)
 public class ProductService {
 
     private final ProductRepository repository;
@@ -23,7 +32,9 @@ public class ProductService {
     }
 
     @Transactional
-    @CacheEvict(value = {"products", "products:list"}, allEntries = true)
+    @Caching(
+            put = @CachePut(value = "products", key = "#result.id"),
+            evict = @CacheEvict(value = "products:list", allEntries = true))
     public ProductDto create(CreateProductRequest req) {
         Product p = new Product();
         p.setName(req.name);
@@ -34,10 +45,10 @@ public class ProductService {
 
     @Cacheable(value = "products:list")
     public List<ProductDto> list() {
-        return repository.findAll().stream().map(this::toDto).toList();
+        return repository.findAll().stream().map(ProductService::toDto).toList();
     }
 
-    @Cacheable(value = "products", key = "#id")
+    @Cacheable(value = "products", key = "#id", sync = true)
     public ProductDto get(UUID id) {
         Product p = repository.findById(id).orElseThrow(() -> new NotFoundException("Product not found"));
         return toDto(p);
@@ -47,7 +58,25 @@ public class ProductService {
         return repository.findById(id).orElseThrow(() -> new NotFoundException("Product not found"));
     }
 
-    private ProductDto toDto(Product p) {
+    public Map<UUID, Product> findEntities(Collection<UUID> ids) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        Map<UUID, Product> found = findExisting(distinct);
+        List<UUID> missing = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new NotFoundException("Product not found: " + missing);
+        }
+        return found;
+    }
+
+    public Map<UUID, Product> findExisting(Collection<UUID> ids) {
+        Map<UUID, Product> found = new HashMap<>();
+        for (Product p : repository.findAllById(ids)) {
+            found.put(p.getId(), p);
+        }
+        return found;
+    }
+
+    static ProductDto toDto(Product p) {
         ProductDto dto = new ProductDto();
         dto.id = p.getId();
         dto.name = p.getName();
@@ -0,0 +1,35 @@
+package com.example.delivery.service;
+
+import com.example.delivery.cache.ReactiveOrderCache;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.NotFoundException;
+import com.example.delivery.repository.ReactiveOrderRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository repository;
+    private final ReactiveOrderCache cache;
+
+    public ReactiveOrderService(ReactiveOrderRepository repository, ReactiveOrderCache cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    public Mono<OrderResponse> get(UUID id) {
+        return cache.get(id)
+                .switchIfEmpty(Mono.defer(() -> repository.findById(id)
+                        .flatMap(order -> cache.put(order).thenReturn(order))))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Order not found")));
+    }
+
+    public Flux<OrderResponse> latestByStatus(OrderStatus status, int limit) {
+        return repository.findLatestByStatus(status, limit);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.CustomerDto;
+import com.example.delivery.dto.ProductDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BinaryCacheValueSerializer Tests")
+class BinaryCacheValueSerializerTest {
+
+    private final BinaryCacheValueSerializer serializer = new BinaryCacheValueSerializer();
+
+    @Test
+    @DisplayName("Should round-trip a customer including null fields")
+    void shouldRoundTripCustomerIncludingNullFields() {
+        CustomerDto customer = new CustomerDto();
+        customer.id = UUID.randomUUID();
+        customer.name = "Jo\u00e3o Silva";
+        customer.email = "joao@example.com";
+
+        CustomerDto result = (CustomerDto) serializer.deserialize(serializer.serialize(customer));
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(customer);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a product list keeping the price scale")
+    void shouldRoundTripProductListKeepingPriceScale() {
+        List<ProductDto> products = List.of(product("Pizza", "45.90"), product("Soda", "7.50"));
+
+        Object result = serializer.deserialize(serializer.serialize(products));
+
+        assertThat(result).asList().hasSize(2);
+        assertThat(((ProductDto) ((List<?>) result).get(0)).price).isEqualTo(new BigDecimal("45.90"));
+        assertThat(result).usingRecursiveComparison().isEqualTo(products);
+    }
+
+    @Test
+    @DisplayName("Should round-trip cached null values")
+    void shouldRoundTripCachedNullValues() {
+        assertThat(serializer.deserialize(serializer.serialize(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Should fall back to JDK serialization for other types")
+    void shouldFallBackToJdkSerializationForOtherTypes() {
+        Map<String, Integer> value = Map.of("a", 1);
+
+        assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("Should treat entries of an unknown version or format as a miss")
+    void shouldTreatEntriesOfUnknownVersionOrFormatAsMiss() {
+        byte[] bytes = serializer.serialize(product("Pizza", "45.90"));
+        byte[] newer = bytes.clone();
+        newer[1] = (byte) (BinaryCacheValueSerializer.VERSION + 1);
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(product("Pizza", "45.90"));
+
+        assertThat(serializer.deserialize(newer)).isNull();
+        assertThat(serializer.deserialize(jdk)).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should encode a product far smaller than JDK serialization")
+    void shouldEncodeProductFarSmallerThanJdkSerialization() {
+        ProductDto product = product("Pizza", "45.90");
+
+        int binary = serializer.serialize(product).length;
+        int jdk = new JdkSerializationRedisSerializer().serialize(product).length;
+
+        assertThat(binary).isLessThan(jdk / 4);
+    }
+
+    private static ProductDto product(String name, String price) {
+        ProductDto product = new ProductDto();
+        product.id = UUID.randomUUID();
+        product.name = name;
+        product.price = new BigDecimal(price);
+        return product;
+    }
+}
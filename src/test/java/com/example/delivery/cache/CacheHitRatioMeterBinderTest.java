@@ -0,0 +1,68 @@
+package com.example.delivery.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheHitRatioMeterBinder Tests")
+class CacheHitRatioMeterBinderTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry registry;
+    private Counter hits;
+    private Counter misses;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        hits = registry.counter("cache.gets", "cache", "products", "result", "hit");
+        misses = registry.counter("cache.gets", "cache", "products", "result", "miss");
+        new CacheHitRatioMeterBinder(List.of("products"), Duration.ofMinutes(1)).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Should report the hit ratio of the current window")
+    void shouldReportHitRatioOfCurrentWindow() {
+        ratio();
+        hits.increment(3);
+        misses.increment(1);
+
+        assertThat(ratio()).isEqualTo(0.75);
+    }
+
+    @Test
+    @DisplayName("Should forget gets older than the window")
+    void shouldForgetGetsOlderThanWindow() {
+        ratio();
+        hits.increment(90);
+        misses.increment(10);
+        clock.add(Duration.ofMinutes(1));
+        ratio();
+
+        hits.increment(1);
+        misses.increment(9);
+        clock.add(Duration.ofMinutes(1));
+
+        assertThat(ratio()).isEqualTo(0.1);
+    }
+
+    @Test
+    @DisplayName("Should report NaN when the cache had no gets")
+    void shouldReportNanWhenCacheHadNoGets() {
+        assertThat(ratio()).isNaN();
+    }
+
+    private double ratio() {
+        return registry.get("cache.hit.ratio").tag("cache", "products").gauge().value();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.ConflictException;
+import com.example.delivery.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LocalOrderIdempotencyStore Tests")
+class LocalOrderIdempotencyStoreTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private final LocalOrderIdempotencyStore store =
+            new LocalOrderIdempotencyStore(Duration.ofMinutes(10), 1_000, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should create the order once while concurrent duplicates wait for it")
+    void shouldCreateOnceWhileConcurrentDuplicatesWait() throws Exception {
+        OrderResponse order = order();
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<OrderIdempotencyStore.Outcome>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return store.execute("user:key-1", "fp", () -> {
+                    creations.incrementAndGet();
+                    sleep(200);
+                    return order;
+                });
+            }));
+        }
+        start.countDown();
+
+        int replayed = 0;
+        for (Future<OrderIdempotencyStore.Outcome> result : results) {
+            OrderIdempotencyStore.Outcome outcome = result.get(5, TimeUnit.SECONDS);
+            assertThat(outcome.getResponse()).isSameAs(order);
+            replayed += outcome.isReplayed() ? 1 : 0;
+        }
+        assertThat(creations).hasValue(1);
+        assertThat(replayed).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should replay the original response for a later retry")
+    void shouldReplayOriginalResponseForLaterRetry() {
+        OrderResponse order = order();
+        store.execute("user:key-2", "fp", () -> order);
+
+        OrderIdempotencyStore.Outcome retry = store.execute("user:key-2", "fp", () -> {
+            throw new AssertionError("must not run again");
+        });
+
+        assertThat(retry.isReplayed()).isTrue();
+        assertThat(retry.getResponse().id).isEqualTo(order.id);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        store.execute("user:key-3", "fp-1", this::order);
+
+        assertThatThrownBy(() -> store.execute("user:key-3", "fp-2", this::order))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Idempotency-Key was already used for a different request");
+    }
+
+    @Test
+    @DisplayName("Should release the key when the original request fails")
+    void shouldReleaseKeyWhenOriginalRequestFails() {
+        assertThatThrownBy(() -> store.execute("user:key-4", "fp", () -> {
+            throw new NotFoundException("Customer not found");
+        })).isInstanceOf(NotFoundException.class);
+
+        OrderIdempotencyStore.Outcome retry = store.execute("user:key-4", "fp", this::order);
+
+        assertThat(retry.isReplayed()).isFalse();
+    }
+
+    private OrderResponse order() {
+        OrderResponse order = new OrderResponse();
+        order.id = UUID.randomUUID();
+        return order;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.delivery.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisCacheInvalidationBus Tests")
+class RedisCacheInvalidationBusTest {
+
+    private static final String CHANNEL = "delivery:cache:invalidation";
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisMessageListenerContainer container;
+
+    private final List<CacheInvalidation> delivered = new CopyOnWriteArrayList<>();
+    private RedisCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new RedisCacheInvalidationBus(connectionFactory, container, CHANNEL);
+        bus.subscribe(delivered::add);
+    }
+
+    @Test
+    @DisplayName("Should listen on the configured channel")
+    void shouldListenOnConfiguredChannel() {
+        verify(container).addMessageListener(bus, new ChannelTopic(CHANNEL));
+    }
+
+    @Test
+    @DisplayName("Should publish an invalidation and deliver it when the message comes back")
+    void shouldPublishInvalidationAndDeliverItFromChannel() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        bus.publish(new CacheInvalidation("node-1", "products", "42"));
+
+        assertThat(delivered).isEmpty();
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(eq(CHANNEL_BYTES), body.capture());
+        verify(connection).close();
+
+        bus.onMessage(new DefaultMessage(CHANNEL_BYTES, body.getValue()), null);
+
+        assertThat(delivered).hasSize(1);
+        CacheInvalidation received = delivered.get(0);
+        assertThat(received.getOrigin()).isEqualTo("node-1");
+        assertThat(received.getCacheName()).isEqualTo("products");
+        assertThat(received.getKey()).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("Should deliver a clear to every subscriber")
+    void shouldDeliverClearToEverySubscriber() {
+        List<CacheInvalidation> other = new CopyOnWriteArrayList<>();
+        bus.subscribe(other::add);
+
+        bus.onMessage(new DefaultMessage(CHANNEL_BYTES, new CacheInvalidation("node-1", "products", null).encode()), null);
+
+        assertThat(delivered).singleElement().satisfies(invalidation -> assertThat(invalidation.isClear()).isTrue());
+        assertThat(other).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when Redis is unavailable")
+    void shouldNotFailCallerWhenRedisIsUnavailable() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThatCode(() -> bus.publish(new CacheInvalidation("node-1", "products", "42"))).doesNotThrowAnyException();
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a message that is not an invalidation")
+    void shouldIgnoreMalformedMessage() {
+        bus.onMessage(new DefaultMessage(CHANNEL_BYTES, "garbage".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(delivered).isEmpty();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.ConflictException;
+import com.example.delivery.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisOrderIdempotencyStore Tests")
+class RedisOrderIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(2);
+    private static final String KEY = RedisOrderIdempotencyStore.KEY_PREFIX + "alice:key-1";
+
+    @Mock
+    private RedisTemplate<String, IdempotencyRecord> template;
+
+    @Mock
+    private ValueOperations<String, IdempotencyRecord> values;
+
+    private RedisOrderIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(template.opsForValue()).thenReturn(values);
+        store = new RedisOrderIdempotencyStore(template, TTL, WAIT_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should claim the key with a short lease and keep the response for the ttl")
+    void shouldClaimWithLeaseAndStoreResponseForTtl() {
+        OrderResponse order = order();
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(true);
+
+        OrderIdempotencyStore.Outcome outcome = store.execute("alice:key-1", "fp", () -> order);
+
+        assertThat(outcome.isReplayed()).isFalse();
+        assertThat(outcome.getResponse()).isSameAs(order);
+        ArgumentCaptor<IdempotencyRecord> claimed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(values).setIfAbsent(eq(KEY), claimed.capture(), eq(WAIT_TIMEOUT));
+        assertThat(claimed.getValue().response).isNull();
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(values).set(eq(KEY), stored.capture(), eq(TTL));
+        assertThat(stored.getValue().fingerprint).isEqualTo("fp");
+        assertThat(stored.getValue().response).isSameAs(order);
+    }
+
+    @Test
+    @DisplayName("Should renew the lease while the order is created and stop once the response is stored")
+    void shouldRenewLeaseWhileOrderIsCreated() throws Exception {
+        Duration shortLease = Duration.ofMillis(150);
+        RedisOrderIdempotencyStore slowStore = new RedisOrderIdempotencyStore(template, TTL, shortLease);
+        try {
+            OrderResponse order = order();
+            when(values.setIfAbsent(eq(KEY), any(), eq(shortLease))).thenReturn(true);
+
+            slowStore.execute("alice:key-1", "fp", () -> {
+                sleep(400);
+                return order;
+            });
+
+            verify(template, atLeast(2)).expire(KEY, shortLease);
+            verify(values).set(eq(KEY), any(), eq(TTL));
+            clearInvocations(template);
+            sleep(200);
+            verify(template, never()).expire(any(), any(Duration.class));
+        } finally {
+            slowStore.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ask for a retry instead of failing when Redis breaks while waiting on another node")
+    void shouldAskForRetryWhenRedisBreaksWhileWaiting() {
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(false);
+        when(values.get(KEY)).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThatThrownBy(() -> store.execute("alice:key-1", "fp", () -> {
+            throw new AssertionError("must not run on this node");
+        }))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage(IdempotentCall.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Should wait for the node holding the key and replay its response")
+    void shouldWaitForRemoteHolderAndReplayItsResponse() {
+        OrderResponse order = order();
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(false);
+        when(values.get(KEY)).thenReturn(IdempotencyRecord.of("fp", null), IdempotencyRecord.of("fp", order));
+
+        OrderIdempotencyStore.Outcome outcome = store.execute("alice:key-1", "fp", () -> {
+            throw new AssertionError("must not run on this node");
+        });
+
+        assertThat(outcome.isReplayed()).isTrue();
+        assertThat(outcome.getResponse()).isSameAs(order);
+        verify(values, times(2)).get(KEY);
+        verify(values, never()).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key held by another node for a different request")
+    void shouldRejectRemoteKeyWithDifferentFingerprint() {
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(false);
+        when(values.get(KEY)).thenReturn(IdempotencyRecord.of("other", null));
+
+        assertThatThrownBy(() -> store.execute("alice:key-1", "fp", this::order))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage(IdempotentCall.KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("Should ask for a retry when the remote holder released the key")
+    void shouldAskForRetryWhenRemoteHolderReleasedKey() {
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(false);
+        when(values.get(KEY)).thenReturn(null);
+
+        assertThatThrownBy(() -> store.execute("alice:key-1", "fp", this::order))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("did not complete");
+    }
+
+    @Test
+    @DisplayName("Should release the key when the original request fails")
+    void shouldReleaseKeyWhenOriginalRequestFails() {
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT))).thenReturn(true);
+
+        assertThatThrownBy(() -> store.execute("alice:key-1", "fp", () -> {
+            throw new NotFoundException("Customer not found");
+        })).isInstanceOf(NotFoundException.class);
+
+        verify(template).delete(KEY);
+        verify(values, never()).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should still create the order when Redis is unavailable")
+    void shouldCreateOrderWhenRedisIsUnavailable() {
+        OrderResponse order = order();
+        when(values.setIfAbsent(eq(KEY), any(), eq(WAIT_TIMEOUT)))
+            .thenThrow(new RedisConnectionFailureException("connection refused"));
+        doThrow(new RedisConnectionFailureException("connection refused"))
+            .when(values).set(eq(KEY), any(), eq(TTL));
+
+        OrderIdempotencyStore.Outcome outcome = store.execute("alice:key-1", "fp", () -> order);
+
+        assertThat(outcome.isReplayed()).isFalse();
+        assertThat(outcome.getResponse()).isSameAs(order);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderResponse order() {
+        OrderResponse order = new OrderResponse();
+        order.id = UUID.randomUUID();
+        return order;
+    }
+}
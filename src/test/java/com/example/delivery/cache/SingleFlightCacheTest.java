@@ -0,0 +1,200 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.config.LocalCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlightCache Tests")
+class SingleFlightCacheTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(64);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should load a cold key once while many threads request it")
+    void shouldLoadColdKeyOnceWhileManyThreadsRequestIt() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 0);
+        UUID key = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return cache.get(key, () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(200);
+                    return "Pizza";
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Pizza");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.coalescedLoads()).isPositive();
+        assertThat(cache.get(key, String.class)).isEqualTo("Pizza");
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed load to every waiter and cache nothing")
+    void shouldPropagateFailedLoadToEveryWaiterAndCacheNothing() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 0);
+        UUID key = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Throwable>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                try {
+                    cache.get(key, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        throw new IllegalStateException("database down");
+                    });
+                    return null;
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+
+        for (Future<Throwable> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(Cache.ValueRetrievalException.class)
+                    .hasRootCauseMessage("database down");
+        }
+        assertThat(loads.get()).isLessThan(16);
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refresh a hot entry on the caller's thread before it expires")
+    void shouldRefreshHotEntryOnCallerThreadBeforeItExpires() {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 1e15);
+        UUID key = UUID.randomUUID();
+        AtomicInteger version = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        List<Thread> loaders = new ArrayList<>();
+
+        assertThat(cache.get(key, () -> slowLoad(version))).isEqualTo("v1");
+        assertThat(cache.get(key, () -> {
+            loaders.add(Thread.currentThread());
+            return slowLoad(version);
+        })).isEqualTo("v2");
+
+        assertThat(cache.earlyRefreshes()).isEqualTo(1L);
+        assertThat(loaders).containsExactly(caller);
+        assertThat(cache.get(key, String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should keep serving the cached value when an early refresh fails")
+    void shouldKeepServingCachedValueWhenEarlyRefreshFails() {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 1e15);
+        UUID key = UUID.randomUUID();
+        AtomicInteger version = new AtomicInteger();
+        cache.get(key, () -> slowLoad(version));
+
+        String value = cache.get(key, () -> {
+            Thread.sleep(5);
+            throw new IllegalStateException("database down");
+        });
+
+        assertThat(value).isEqualTo("v1");
+        assertThat(cache.get(key, String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Should not broadcast an invalidation when loading or refreshing a near-cached entry")
+    void shouldNotBroadcastInvalidationWhenLoadingNearCachedEntry() {
+        List<CacheInvalidation> published = new CopyOnWriteArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+            }
+        };
+        TwoLevelCacheManager nearCache = new TwoLevelCacheManager(new ConcurrentMapCacheManager("products"),
+                new LocalCacheProperties(), bus);
+        SingleFlightCache cache = new SingleFlightCache(nearCache.getCache("products"), Duration.ofMinutes(10), 1e15);
+        UUID key = UUID.randomUUID();
+        AtomicInteger version = new AtomicInteger();
+
+        cache.get(key, () -> slowLoad(version));
+        cache.get(key, () -> slowLoad(version));
+
+        assertThat(cache.earlyRefreshes()).isEqualTo(1L);
+        assertThat(published).isEmpty();
+        cache.evict(key);
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not refresh early when early refresh is disabled")
+    void shouldNotRefreshEarlyWhenEarlyRefreshIsDisabled() {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 0);
+        UUID key = UUID.randomUUID();
+        AtomicInteger version = new AtomicInteger();
+
+        cache.get(key, () -> slowLoad(version));
+        cache.get(key, () -> slowLoad(version));
+
+        assertThat(cache.earlyRefreshes()).isZero();
+        assertThat(version).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should forget load timing when an entry is evicted")
+    void shouldForgetLoadTimingWhenEntryIsEvicted() {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("products"), Duration.ofMinutes(10), 1e15);
+        UUID key = UUID.randomUUID();
+        AtomicInteger version = new AtomicInteger();
+        cache.get(key, () -> slowLoad(version));
+
+        cache.evict(key);
+        cache.put(key, "manual");
+
+        assertThat(cache.get(key, () -> slowLoad(version))).isEqualTo("manual");
+        assertThat(cache.earlyRefreshes()).isZero();
+    }
+
+    private static String slowLoad(AtomicInteger version) throws InterruptedException {
+        Thread.sleep(5);
+        return "v" + version.incrementAndGet();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.delivery.cache;
+
+import com.example.delivery.config.LocalCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    private ConcurrentMapCacheManager redis;
+    private InMemoryBus bus;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new ConcurrentMapCacheManager("products", "customers");
+        bus = new InMemoryBus();
+        nodeA = new TwoLevelCacheManager(redis, new LocalCacheProperties(), bus);
+        nodeB = new TwoLevelCacheManager(redis, new LocalCacheProperties(), bus);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated read from the local tier")
+    void shouldServeRepeatedReadFromLocalTier() {
+        UUID id = UUID.randomUUID();
+        redis.getCache("products").put(id, "Pizza");
+
+        assertThat(nodeA.getCache("products").get(id, String.class)).isEqualTo("Pizza");
+        redis.getCache("products").evict(id);
+
+        assertThat(nodeA.getCache("products").get(id, String.class)).isEqualTo("Pizza");
+    }
+
+    @Test
+    @DisplayName("Should load through the remote tier and keep the value locally")
+    void shouldLoadThroughRemoteTierAndKeepValueLocally() {
+        UUID id = UUID.randomUUID();
+
+        String value = nodeA.getCache("products").get(id, () -> "Burger");
+
+        assertThat(value).isEqualTo("Burger");
+        assertThat(redis.getCache("products").get(id, String.class)).isEqualTo("Burger");
+        assertThat(((TwoLevelCache) nodeA.getCache("products")).getLocalCache().getIfPresent(id.toString())).isEqualTo("Burger");
+    }
+
+    @Test
+    @DisplayName("Should drop other nodes' local entry when a key is evicted")
+    void shouldDropOtherNodesLocalEntryWhenKeyIsEvicted() {
+        UUID id = UUID.randomUUID();
+        nodeA.getCache("customers").put(id, "John");
+        assertThat(nodeB.getCache("customers").get(id, String.class)).isEqualTo("John");
+
+        nodeA.getCache("customers").evict(id);
+
+        assertThat(nodeB.getCache("customers").get(id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let other nodes read the new value after a put")
+    void shouldLetOtherNodesReadNewValueAfterPut() {
+        UUID id = UUID.randomUUID();
+        nodeA.getCache("products").put(id, "Old");
+        assertThat(nodeB.getCache("products").get(id, String.class)).isEqualTo("Old");
+
+        nodeA.getCache("products").put(id, "New");
+
+        assertThat(nodeB.getCache("products").get(id, String.class)).isEqualTo("New");
+        assertThat(nodeA.getCache("products").get(id, String.class)).isEqualTo("New");
+    }
+
+    @Test
+    @DisplayName("Should not keep a value locally when an invalidation arrives during the remote read")
+    void shouldNotKeepValueLocallyWhenInvalidationArrivesDuringRemoteRead() {
+        UUID id = UUID.randomUUID();
+        SlowReadCacheManager slowRedis = new SlowReadCacheManager();
+        TwoLevelCacheManager reader = new TwoLevelCacheManager(slowRedis, new LocalCacheProperties(), bus);
+        TwoLevelCacheManager writer = new TwoLevelCacheManager(slowRedis, new LocalCacheProperties(), bus);
+        slowRedis.getCache("products").put(id, "Old");
+        slowRedis.afterRead = () -> writer.getCache("products").put(id, "New");
+
+        assertThat(reader.getCache("products").get(id, String.class)).isEqualTo("Old");
+
+        assertThat(((TwoLevelCache) reader.getCache("products")).getLocalCache().getIfPresent(id.toString())).isNull();
+        assertThat(reader.getCache("products").get(id, String.class)).isEqualTo("New");
+    }
+
+    @Test
+    @DisplayName("Should not keep a loaded value locally when the key is invalidated during the load")
+    void shouldNotKeepLoadedValueLocallyWhenKeyIsInvalidatedDuringLoad() {
+        UUID id = UUID.randomUUID();
+        TwoLevelCache cache = (TwoLevelCache) nodeA.getCache("products");
+
+        String value = cache.get(id, () -> {
+            bus.publish(new CacheInvalidation("node-b", "products", id.toString()));
+            return "Stale";
+        });
+
+        assertThat(value).isEqualTo("Stale");
+        assertThat(cache.getLocalCache().getIfPresent(id.toString())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should clear every node's local tier when a cache is cleared")
+    void shouldClearEveryNodesLocalTierWhenCacheIsCleared() {
+        UUID id = UUID.randomUUID();
+        nodeA.getCache("products").put(id, "Pizza");
+        nodeB.getCache("products").get(id);
+
+        nodeB.getCache("products").clear();
+
+        assertThat(nodeA.getCache("products").get(id)).isNull();
+        assertThat(nodeB.getCache("products").get(id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore its own invalidation messages")
+    void shouldIgnoreItsOwnInvalidationMessages() {
+        UUID id = UUID.randomUUID();
+
+        nodeA.getCache("products").put(id, "Pizza");
+        redis.getCache("products").evict(id);
+
+        assertThat(bus.published).hasSize(1);
+        assertThat(nodeA.getCache("products").get(id, String.class)).isEqualTo("Pizza");
+    }
+
+    @Test
+    @DisplayName("Should cache null values locally")
+    void shouldCacheNullValuesLocally() {
+        UUID id = UUID.randomUUID();
+        redis.getCache("products").put(id, null);
+
+        Cache.ValueWrapper first = nodeA.getCache("products").get(id);
+        redis.getCache("products").evict(id);
+        Cache.ValueWrapper second = nodeA.getCache("products").get(id);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(second.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should round-trip invalidation messages")
+    void shouldRoundTripInvalidationMessages() {
+        CacheInvalidation evict = CacheInvalidation.decode(new CacheInvalidation("node-1", "customers:list", "SimpleKey []").encode());
+        CacheInvalidation clear = CacheInvalidation.decode(new CacheInvalidation("node-1", "products", null).encode());
+
+        assertThat(evict.getOrigin()).isEqualTo("node-1");
+        assertThat(evict.getCacheName()).isEqualTo("customers:list");
+        assertThat(evict.getKey()).isEqualTo("SimpleKey []");
+        assertThat(clear.isClear()).isTrue();
+    }
+
+    // Runs a hook once, right after the remote read returned and before the caller sees the value
+    private static class SlowReadCacheManager extends ConcurrentMapCacheManager {
+
+        private Runnable afterRead;
+
+        SlowReadCacheManager() {
+            super("products");
+        }
+
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name) {
+                @Override
+                public ValueWrapper get(Object key) {
+                    ValueWrapper wrapper = super.get(key);
+                    Runnable hook = afterRead;
+                    afterRead = null;
+                    if (hook != null) {
+                        hook.run();
+                    }
+                    return wrapper;
+                }
+            };
+        }
+    }
+
+    private static class InMemoryBus implements CacheInvalidationBus {
+
+        private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+        private final List<CacheInvalidation> published = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            published.add(invalidation);
+            listeners.forEach(listener -> listener.accept(invalidation));
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            listeners.add(listener);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.delivery.config;
+
+import com.example.delivery.cache.SingleFlightCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RedisConfig Tests")
+class RedisConfigTest {
+
+    private final RedisConfig config = new RedisConfig();
+
+    @Test
+    @DisplayName("Should register every application cache with statistics enabled")
+    void shouldRegisterEveryApplicationCacheWithStatisticsEnabled() {
+        CacheManager manager = config.inMemoryCacheManager(new LocalCacheProperties(), 1.0);
+
+        assertThat(manager.getCacheNames()).containsAll(RedisConfig.CACHE_NAMES);
+        for (String name : RedisConfig.CACHE_NAMES) {
+            assertThat(nativeCache(manager, name).policy().isRecordingStats()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should wrap product and customer caches with single-flight loading")
+    void shouldWrapProductAndCustomerCachesWithSingleFlightLoading() {
+        CacheManager manager = config.inMemoryCacheManager(new LocalCacheProperties(), 1.0);
+
+        assertThat(manager.getCache("products")).isInstanceOf(SingleFlightCache.class);
+        assertThat(manager.getCache("customers")).isInstanceOf(SingleFlightCache.class);
+        assertThat(manager.getCache("products:list")).isInstanceOf(CaffeineCache.class);
+    }
+
+    @Test
+    @DisplayName("Should apply per-cache size and TTL on top of the defaults")
+    void shouldApplyPerCacheSizeAndTtlOnTopOfDefaults() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.setDefaults(new LocalCacheProperties.Spec(500L, Duration.ofMinutes(5)));
+        properties.getCaches().put("products", new LocalCacheProperties.Spec(100L, null));
+
+        CacheManager manager = config.inMemoryCacheManager(properties, 1.0);
+
+        Cache<Object, Object> products = nativeCache(manager, "products");
+        assertThat(products.policy().eviction().orElseThrow().getMaximum()).isEqualTo(100L);
+        assertThat(products.policy().expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.MINUTES)).isEqualTo(5L);
+        Cache<Object, Object> customers = nativeCache(manager, "customers");
+        assertThat(customers.policy().eviction().orElseThrow().getMaximum()).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("Should keep a cache within its maximum size")
+    void shouldKeepCacheWithinItsMaximumSize() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.getCaches().put("customers", new LocalCacheProperties.Spec(10L, null));
+        CacheManager manager = config.inMemoryCacheManager(properties, 1.0);
+
+        org.springframework.cache.Cache customers = manager.getCache("customers");
+        for (int i = 0; i < 1_000; i++) {
+            customers.put(i, "value-" + i);
+        }
+        Cache<Object, Object> nativeCache = nativeCache(manager, "customers");
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(10L);
+        assertThat(nativeCache.stats().evictionCount()).isGreaterThan(0L);
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager manager, String name) {
+        org.springframework.cache.Cache cache = manager.getCache(name);
+        if (cache instanceof SingleFlightCache singleFlight) {
+            cache = singleFlight.getDelegate();
+        }
+        return ((CaffeineCache) cache).getNativeCache();
+    }
+}
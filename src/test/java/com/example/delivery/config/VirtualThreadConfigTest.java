@@ -0,0 +1,30 @@
+package com.example.delivery.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("VirtualThreadConfig Tests")
+class VirtualThreadConfigTest {
+
+    @Test
+    @DisplayName("Should size the in-flight limit from the connection pool when none is configured")
+    void shouldSizeInFlightLimitFromPoolWhenNoneIsConfigured() {
+        assertThat(VirtualThreadConfig.maxInFlight(0, 20, 2)).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should keep an explicitly configured in-flight limit")
+    void shouldKeepExplicitlyConfiguredInFlightLimit() {
+        assertThat(VirtualThreadConfig.maxInFlight(400, 20, 2)).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should reject a pool-derived limit that would not admit any request")
+    void shouldRejectPoolDerivedLimitThatWouldNotAdmitAnyRequest() {
+        assertThatThrownBy(() -> VirtualThreadConfig.maxInFlight(0, 20, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
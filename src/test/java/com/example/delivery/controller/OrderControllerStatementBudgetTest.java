@@ -0,0 +1,108 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.cache.OrderIdempotencyStore;
+import com.example.delivery.config.ObservabilityConfig;
+import com.example.delivery.config.TestSecurityConfig;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderStatusResponse;
+import com.example.delivery.dto.UpdateOrderStatusRequest;
+import com.example.delivery.events.OrderEventFeed;
+import com.example.delivery.events.OrderStatusHub;
+import com.example.delivery.observability.JdbcStatementCounter;
+import com.example.delivery.service.BulkOrderService;
+import com.example.delivery.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Budgets enforced as in application-test.yml: the service is mocked, so it reports the statements of the path it plays
+@WebMvcTest(value = OrderController.class, properties = "delivery.sql-budget.mode=FAIL")
+@Import({TestSecurityConfig.class, ObservabilityConfig.class, SimpleMeterRegistry.class})
+@DisplayName("OrderController Statement Budget Tests")
+class OrderControllerStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcStatementCounter statementCounter;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private BulkOrderService bulkOrderService;
+
+    @MockBean
+    private OrderIdempotencyStore idempotencyStore;
+
+    @MockBean
+    private OrderEventFeed eventFeed;
+
+    @MockBean
+    private OrderStatusHub statusHub;
+
+    @Test
+    @DisplayName("Should answer a status change that won on its last retry within the budget")
+    void shouldAnswerContendedStatusChangeWithinBudget() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.updateStatus(eq(orderId), any(UpdateOrderStatusRequest.class))).thenAnswer(invocation -> {
+            // Two lost attempts (UPDATE matching nothing + status/version read), then UPDATE + outbox insert
+            issue("update orders", "select status", "update orders", "select status", "update orders", "insert into order_outbox");
+            return response(orderId);
+        });
+
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SHIPPED"));
+    }
+
+    @Test
+    @DisplayName("Should still fail a status change that issues more statements than any legal path")
+    void shouldFailStatusChangeBeyondWorstLegalPath() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.updateStatus(eq(orderId), any(UpdateOrderStatusRequest.class))).thenAnswer(invocation -> {
+            for (int i = 0; i <= OrderService.STATUS_UPDATE_MAX_STATEMENTS; i++) {
+                statementCounter.inspect("select " + i);
+            }
+            return response(orderId);
+        });
+
+        mockMvc.perform(patch("/api/v1/orders/{id}/status", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value(String.format("PATCH /api/v1/orders/%s/status (OrderController.updateStatus) "
+                        + "issued %d SQL statements, budget is %d", orderId, OrderService.STATUS_UPDATE_MAX_STATEMENTS + 1,
+                        OrderService.STATUS_UPDATE_MAX_STATEMENTS)));
+    }
+
+    private void issue(String... statements) {
+        for (String sql : statements) {
+            statementCounter.inspect(sql);
+        }
+    }
+
+    private static OrderStatusResponse response(UUID orderId) {
+        OrderStatusResponse resp = new OrderStatusResponse();
+        resp.id = orderId;
+        resp.status = OrderStatus.SHIPPED;
+        return resp;
+    }
+}
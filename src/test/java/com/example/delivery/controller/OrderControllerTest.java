@@ -0,0 +1,285 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.cache.LocalOrderIdempotencyStore;
+import com.example.delivery.cache.OrderIdempotencyStore;
+import com.example.delivery.config.TestSecurityConfig;
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderOutboxEvent;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.BulkOrderResponse;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderEvent;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.events.OrderEventFeed;
+import com.example.delivery.events.OrderStatusHub;
+import com.example.delivery.repository.OrderOutboxRepository;
+import com.example.delivery.service.BulkOrderService;
+import com.example.delivery.service.OrderService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderController.class)
+@Import({TestSecurityConfig.class, OrderControllerTest.ControllerTestConfig.class})
+// The feed and the idempotency store keep state, so each test gets fresh ones
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("OrderController Tests")
+class OrderControllerTest {
+
+    private static final String ORDER_BODY = "{\"customerId\":\"" + UUID.randomUUID()
+            + "\",\"items\":[{\"productId\":\"" + UUID.randomUUID() + "\",\"quantity\":1}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderEventFeed eventFeed;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private BulkOrderService bulkOrderService;
+
+    @MockBean
+    private OrderStatusHub statusHub;
+
+    @MockBean
+    private OrderOutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("Should answer a long-poll at once when events after the cursor exist")
+    void shouldAnswerLongPollAtOnceWhenEventsExist() throws Exception {
+        when(outboxRepository.findPublishedAfter(eq(3L), any())).thenReturn(List.of(row(4), row(5)));
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/orders/events").param("after", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.next").value(5))
+                .andExpect(jsonPath("$.truncated").value(false));
+    }
+
+    @Test
+    @DisplayName("Should park a long-poll until events past the cursor are announced")
+    void shouldParkLongPollUntilEventsAreAnnounced() throws Exception {
+        when(outboxRepository.findPublishedAfter(eq(7L), any())).thenReturn(List.of(), List.of(row(8)));
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/orders/events").param("after", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        eventFeed.onEvents(List.of(announced(7)));
+        verify(outboxRepository, times(1)).findPublishedAfter(eq(7L), any());
+
+        eventFeed.onEvents(List.of(announced(8)));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].sequence").value(8))
+                .andExpect(jsonPath("$.next").value(8));
+    }
+
+    @Test
+    @DisplayName("Should answer an empty batch on timeout and stop waiting for announcements")
+    void shouldAnswerEmptyBatchOnTimeoutAndStopWaiting() throws Exception {
+        when(outboxRepository.findPublishedAfter(eq(11L), any())).thenReturn(List.of());
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/orders/events").param("after", "11").param("waitSeconds", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext context = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(0))
+                .andExpect(jsonPath("$.next").value(11));
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onComplete(new AsyncEvent(context));
+        }
+        eventFeed.onEvents(List.of(announced(12)));
+        // One read when the request arrived and one from the timeout, none from the cancelled wake-up
+        verify(outboxRepository, times(2)).findPublishedAfter(eq(11L), any());
+    }
+
+    @Test
+    @DisplayName("Should reject out of range long-poll parameters")
+    void shouldRejectOutOfRangeLongPollParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/events").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/orders/events").param("waitSeconds", "31"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank or oversized Idempotency-Key")
+    void shouldRejectInvalidIdempotencyKey() throws Exception {
+        mockMvc.perform(createOrder("alice", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(createOrder("alice", "k".repeat(256)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should replay a retried order with the Idempotent-Replayed header")
+    void shouldReplayRetriedOrderWithHeader() throws Exception {
+        OrderResponse order = new OrderResponse();
+        order.id = UUID.randomUUID();
+        when(orderService.create(any())).thenReturn(order);
+
+        mockMvc.perform(createOrder("alice", "key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.id").value(order.id.toString()));
+        mockMvc.perform(createOrder("alice", "key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(order.id.toString()));
+
+        verify(orderService, times(1)).create(any());
+    }
+
+    @Test
+    @DisplayName("Should scope Idempotency-Key per caller")
+    void shouldScopeIdempotencyKeyPerCaller() throws Exception {
+        OrderResponse order = new OrderResponse();
+        order.id = UUID.randomUUID();
+        when(orderService.create(any())).thenReturn(order);
+
+        mockMvc.perform(createOrder("alice", "key-1"))
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+        mockMvc.perform(createOrder("bob", "key-1"))
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+
+        verify(orderService, times(2)).create(any());
+    }
+
+    @Test
+    @DisplayName("Should stream the export as one JSON order per line within the configured timeout")
+    void shouldStreamExportAsNdjson() throws Exception {
+        OrderResponse first = new OrderResponse();
+        first.id = UUID.randomUUID();
+        first.status = OrderStatus.DELIVERED;
+        OrderResponse second = new OrderResponse();
+        second.id = UUID.randomUUID();
+        second.status = OrderStatus.DELIVERED;
+        when(orderService.export(eq(OrderStatus.DELIVERED), any(), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<OrderResponse> sink = invocation.getArgument(3);
+            sink.accept(first);
+            sink.accept(second);
+            return 2L;
+        });
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/orders/export")
+                        .param("status", "DELIVERED")
+                        .param("from", "2024-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(pending.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains(first.id.toString());
+        assertThat(lines[1]).contains(second.id.toString());
+        verify(orderService).export(eq(OrderStatus.DELIVERED), eq(OffsetDateTime.parse("2024-01-01T00:00:00Z")), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Should pass an unparseable NDJSON line on with the parser's reason")
+    void shouldPassUnparseableNdjsonLineOnWithReason() throws Exception {
+        List<CreateOrderRequest> received = new ArrayList<>();
+        when(bulkOrderService.create(any())).thenAnswer(invocation -> {
+            Iterator<CreateOrderRequest> requests = invocation.getArgument(0);
+            requests.forEachRemaining(received::add);
+            return new BulkOrderResponse();
+        });
+
+        mockMvc.perform(post("/api/v1/orders/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(ORDER_BODY + "\n\n{\"customerId\": oops}\n"))
+                .andExpect(status().isOk());
+
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).customerId).isNotNull();
+        assertThat(received.get(1)).isInstanceOfSatisfying(BulkOrderService.MalformedOrder.class,
+                malformed -> assertThat(malformed.getReason()).contains("oops"));
+    }
+
+    private static MockHttpServletRequestBuilder createOrder(String username, String idempotencyKey) {
+        return post("/api/v1/orders")
+                .with(user(username))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ORDER_BODY);
+    }
+
+    private static OrderOutboxEvent row(long sequence) {
+        OrderOutboxEvent row = OrderOutboxEvent.of(UUID.randomUUID(), UUID.randomUUID(), OrderEventType.STATUS_CHANGED,
+                OrderStatus.SHIPPED, 2L);
+        row.setId(sequence);
+        row.setPublishSeq(sequence);
+        return row;
+    }
+
+    private static OrderEvent announced(long sequence) {
+        OrderEvent event = new OrderEvent();
+        event.sequence = sequence;
+        return event;
+    }
+
+    @TestConfiguration
+    static class ControllerTestConfig {
+
+        // Wakes callers on the announcing thread so the tests can assert right after onEvents
+        @Bean
+        OrderEventFeed orderEventFeed(OrderOutboxRepository outboxRepository) {
+            return new OrderEventFeed(outboxRepository, Runnable::run);
+        }
+
+        @Bean
+        OrderIdempotencyStore orderIdempotencyStore() {
+            return new LocalOrderIdempotencyStore(Duration.ofMinutes(10), 1_000, Duration.ofSeconds(5));
+        }
+    }
+}
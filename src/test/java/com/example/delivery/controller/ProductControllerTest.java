@@ -0,0 +1,123 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.config.TestSecurityConfig;
+import com.example.delivery.dto.ProductImportResponse;
+import com.example.delivery.dto.ProductImportRow;
+import com.example.delivery.service.ProductImportService;
+import com.example.delivery.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("ProductController Tests")
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductImportService importService;
+
+    private final List<ProductImportRow> imported = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Drains the rows like the real import does, while the request body is still open
+        when(importService.importProducts(any())).thenAnswer(invocation -> {
+            Iterator<ProductImportRow> rows = invocation.getArgument(0);
+            rows.forEachRemaining(imported::add);
+            ProductImportResponse resp = new ProductImportResponse();
+            resp.received = imported.size();
+            resp.imported = imported.size();
+            return resp;
+        });
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows by header and ignore unknown columns")
+    void shouldImportCsvRowsByHeader() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("text/csv")
+                        .content("id,name,price,stock\n" + id + ",Pizza,45.90,3\n,Soda,7.50,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        assertThat(imported).hasSize(2);
+        assertThat(imported.get(0).id).isEqualTo(id);
+        assertThat(imported.get(0).name).isEqualTo("Pizza");
+        assertThat(imported.get(0).price).isEqualByComparingTo("45.90");
+        assertThat(imported.get(1).id).isNull();
+        assertThat(imported.get(1).name).isEqualTo("Soda");
+    }
+
+    @Test
+    @DisplayName("Should import a JSON array of rows")
+    void shouldImportJsonArray() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Pizza\",\"price\":45.90},{\"name\":\"Soda\",\"price\":7.50}]"))
+                .andExpect(status().isOk());
+
+        assertThat(imported).extracting(row -> row.name).containsExactly("Pizza", "Soda");
+    }
+
+    @Test
+    @DisplayName("Should import one row per NDJSON line")
+    void shouldImportNdjsonLines() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Pizza\",\"price\":45.90}\n{\"name\":\"Soda\",\"price\":7.50}\n"))
+                .andExpect(status().isOk());
+
+        assertThat(imported).extracting(row -> row.name).containsExactly("Pizza", "Soda");
+    }
+
+    @Test
+    @DisplayName("Should stop with 400 naming the CSV row whose value cannot be read")
+    void shouldStopWith400NamingMalformedCsvRow() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("text/csv")
+                        .content("id,name,price\n,Pizza,45.90\n,Soda,cheap\n,Juice,9.00\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", startsWith("Malformed row 2: ")));
+
+        assertThat(imported).extracting(row -> row.name).containsExactly("Pizza");
+    }
+
+    @Test
+    @DisplayName("Should stop with 400 naming the NDJSON line that is not JSON")
+    void shouldStopWith400NamingMalformedNdjsonLine() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Pizza\",\"price\":45.90}\noops\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", startsWith("Malformed row 2: ")));
+
+        assertThat(imported).extracting(row -> row.name).containsExactly("Pizza");
+    }
+}
@@ -67,5 +67,29 @@ class OrderStatusTest {
         assertThat(status1 == status2).isTrue();
         assertThat(status1 == status3).isFalse();
     }
-}
 
+    @Test
+    @DisplayName("Should allow only forward transitions and cancellation before shipping")
+    void shouldAllowOnlyForwardTransitionsAndCancellationBeforeShipping() {
+        assertThat(OrderStatus.CREATED.canTransitionTo(OrderStatus.PROCESSING)).isTrue();
+        assertThat(OrderStatus.CREATED.canTransitionTo(OrderStatus.CANCELED)).isTrue();
+        assertThat(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.CANCELED)).isTrue();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+
+        assertThat(OrderStatus.CREATED.canTransitionTo(OrderStatus.DELIVERED)).isFalse();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELED)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.PROCESSING)).isFalse();
+        assertThat(OrderStatus.CANCELED.canTransitionTo(OrderStatus.PROCESSING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not list a status among its own sources")
+    void shouldNotListStatusAmongItsOwnSources() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(status.canTransitionTo(status)).isFalse();
+        }
+        assertThat(OrderStatus.DELIVERED.allowedSources()).containsExactly(OrderStatus.SHIPPED);
+        assertThat(OrderStatus.CREATED.allowedSources()).isEmpty();
+    }
+}
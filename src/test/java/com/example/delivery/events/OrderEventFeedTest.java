@@ -0,0 +1,92 @@
+package com.example.delivery.events;
+
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderOutboxEvent;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderEvent;
+import com.example.delivery.dto.OrderEventBatch;
+import com.example.delivery.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderEventFeed Tests")
+class OrderEventFeedTest {
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("Should page published events by publish sequence and return the last one as the next cursor")
+    void shouldPageByPublishSequence() {
+        when(outboxRepository.findPublishedAfter(eq(4L), any())).thenReturn(List.of(row(5), row(6)));
+        OrderEventFeed feed = new OrderEventFeed(outboxRepository, Runnable::run);
+
+        OrderEventBatch batch = feed.read(4, 2);
+
+        assertThat(batch.events).extracting(e -> e.sequence).containsExactly(5L, 6L);
+        assertThat(batch.next).isEqualTo(6L);
+        assertThat(batch.truncated).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag a cursor whose next events were already purged and keep the cursor when nothing is new")
+    void shouldFlagPurgedCursorAndKeepCursorWhenEmpty() {
+        when(outboxRepository.findPublishedAfter(eq(1L), any())).thenReturn(List.of(row(40)));
+        when(outboxRepository.findPublishedAfter(eq(40L), any())).thenReturn(List.of());
+        OrderEventFeed feed = new OrderEventFeed(outboxRepository, Runnable::run);
+
+        assertThat(feed.read(1, 10).truncated).isTrue();
+        OrderEventBatch empty = feed.read(40, 10);
+        assertThat(empty.events).isEmpty();
+        assertThat(empty.next).isEqualTo(40L);
+    }
+
+    @Test
+    @DisplayName("Should wake only waiters behind the announced sequence, once, and not after they were cancelled")
+    void shouldWakeWaitersBehindAnnouncedSequence() {
+        OrderEventFeed feed = new OrderEventFeed(outboxRepository, Runnable::run);
+        AtomicInteger behind = new AtomicInteger();
+        AtomicInteger ahead = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        feed.whenAvailable(2, behind::incrementAndGet);
+        feed.whenAvailable(9, ahead::incrementAndGet);
+        feed.whenAvailable(2, cancelled::incrementAndGet).run();
+
+        feed.onEvents(List.of(event(3), event(4)));
+        feed.onEvents(List.of(event(5)));
+
+        assertThat(behind).hasValue(1);
+        assertThat(ahead).hasValue(0);
+        assertThat(cancelled).hasValue(0);
+        // A request that parks after the announcement it was waiting for runs at once
+        feed.whenAvailable(4, behind::incrementAndGet);
+        assertThat(behind).hasValue(2);
+    }
+
+    private static OrderOutboxEvent row(long sequence) {
+        OrderOutboxEvent row = OrderOutboxEvent.of(UUID.randomUUID(), UUID.randomUUID(), OrderEventType.STATUS_CHANGED,
+                OrderStatus.PROCESSING, 1L);
+        row.setId(sequence);
+        row.setPublishSeq(sequence);
+        return row;
+    }
+
+    private static OrderEvent event(long sequence) {
+        OrderEvent event = new OrderEvent();
+        event.sequence = sequence;
+        return event;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.delivery.events;
+
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderOutboxEvent;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderEvent;
+import com.example.delivery.dto.OrderEventBatch;
+import com.example.delivery.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not transactional: the relay opens its own transactions, which must commit or roll back for real
+@DataJpaTest(properties = "delivery.outbox.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderOutboxRelay.class, SimpleMeterRegistry.class, OrderOutboxRelayPersistenceTest.RelayTestConfig.class})
+@DisplayName("OrderOutboxRelay Persistence Tests")
+class OrderOutboxRelayPersistenceTest {
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderOutboxRelay relay;
+
+    @Autowired
+    private Recorder recorder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        recorder.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should number pending rows in id order, mark them published and announce each committed batch")
+    void shouldNumberMarkAndAnnounceBatches() {
+        List<Long> ids = pending(5);
+
+        assertThat(relay.relay()).isEqualTo(5);
+
+        List<OrderOutboxEvent> rows = outboxRepository.findAll(Sort.by("id"));
+        assertThat(rows).extracting(OrderOutboxEvent::getPublishSeq).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getPublishedAt()).isNotNull());
+        assertThat(recorder.sunk).extracting(e -> e.eventId).containsExactlyElementsOf(ids);
+        assertThat(recorder.announcedBatches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should roll the batch back when a sink fails and relay it again with the same sequence")
+    void shouldRollBackAndRelayAgainWhenSinkFails() {
+        pending(2);
+        recorder.failing = true;
+
+        assertThatThrownBy(() -> relay.relay()).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxRepository.findAll()).allSatisfy(row -> {
+            assertThat(row.getPublishedAt()).isNull();
+            assertThat(row.getPublishSeq()).isNull();
+        });
+        assertThat(recorder.announcedBatches).isEmpty();
+
+        recorder.failing = false;
+        assertThat(relay.relay()).isEqualTo(2);
+        assertThat(outboxRepository.findAll(Sort.by("id"))).extracting(OrderOutboxEvent::getPublishSeq)
+            .containsExactly(1L, 2L);
+        assertThat(recorder.announcedBatches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should hand every row to exactly one of two concurrent relays with a gap-free sequence")
+    void shouldSerializeConcurrentRelays() throws Exception {
+        List<Long> ids = pending(6);
+        recorder.delayMillis = 100;
+        ExecutorService relays = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = relays.submit(relay::relay);
+            Future<Integer> second = relays.submit(relay::relay);
+            assertThat(first.get(30, TimeUnit.SECONDS) + second.get(30, TimeUnit.SECONDS)).isEqualTo(6);
+        } finally {
+            relays.shutdownNow();
+        }
+
+        assertThat(recorder.sunk).extracting(e -> e.eventId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(outboxRepository.findAll()).extracting(OrderOutboxEvent::getPublishSeq)
+            .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 6).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("Should skip the poll without waiting while another relay holds the oldest pending rows")
+    void shouldSkipPollWhileAnotherRelayHoldsOldestRows() throws Exception {
+        List<Long> ids = pending(4);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = other.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+                outboxRepository.lockUnpublished(PageRequest.ofSize(2));
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(relay.relay()).isZero();
+            assertThat(outboxRepository.findAll()).allSatisfy(row -> assertThat(row.getPublishSeq()).isNull());
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            other.shutdownNow();
+        }
+
+        assertThat(relay.relay()).isEqualTo(4);
+        assertThat(recorder.sunk).extracting(e -> e.eventId).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Should purge old published rows but keep the newest so the sequence and cursors survive")
+    void shouldPurgeOldRowsButKeepNewest() {
+        pending(3);
+        relay.relay();
+        List<OrderOutboxEvent> rows = outboxRepository.findAll();
+        rows.forEach(row -> row.setPublishedAt(OffsetDateTime.now().minusDays(2)));
+        outboxRepository.saveAll(rows);
+        pending(1);
+
+        relay.purgePublished();
+
+        assertThat(outboxRepository.findAll()).extracting(OrderOutboxEvent::getPublishSeq).containsExactlyInAnyOrder(3L, null);
+        OrderEventBatch batch = new OrderEventFeed(outboxRepository, Runnable::run).read(1, 10);
+        assertThat(batch.truncated).isTrue();
+        assertThat(batch.events).extracting(e -> e.sequence).containsExactly(3L);
+        assertThat(relay.relay()).isEqualTo(1);
+        assertThat(outboxRepository.maxPublishSeq()).isEqualTo(4L);
+    }
+
+    private List<Long> pending(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderOutboxEvent row = OrderOutboxEvent.of(UUID.randomUUID(), UUID.randomUUID(), OrderEventType.CREATED,
+                    OrderStatus.CREATED, 0L);
+            ids.add(outboxRepository.save(row).getId());
+        }
+        return ids;
+    }
+
+    static class Recorder implements OrderEventSink {
+
+        private final List<OrderEvent> sunk = new CopyOnWriteArrayList<>();
+        private final List<List<OrderEvent>> announcedBatches = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        private volatile long delayMillis;
+
+        @Override
+        public void publish(List<OrderEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("Broker unavailable");
+            }
+            sunk.addAll(events);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void reset() {
+            sunk.clear();
+            announcedBatches.clear();
+            failing = false;
+            delayMillis = 0;
+        }
+    }
+
+    @TestConfiguration
+    static class RelayTestConfig {
+
+        @Bean
+        Recorder recorder() {
+            return new Recorder();
+        }
+
+        @Bean
+        OrderEventBus orderEventBus(Recorder recorder) {
+            LocalOrderEventBus bus = new LocalOrderEventBus();
+            bus.subscribe(recorder.announcedBatches::add);
+            return bus;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.delivery.events;
+
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OrderStatusHub Tests")
+class OrderStatusHubTest {
+
+    // Drains run only when the test says so, which lets events pile up like behind a slow client
+    private final Queue<Runnable> pendingDrains = new ArrayDeque<>();
+    private final OrderStatusHub hub = new OrderStatusHub(pendingDrains::add, 3, new SimpleMeterRegistry());
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID customerId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should send the snapshot first and route events by order and by customer")
+    void shouldSendSnapshotAndRouteEventsByOrderAndCustomer() {
+        RecordingEmitter orderStream = new RecordingEmitter();
+        RecordingEmitter customerStream = new RecordingEmitter();
+        RecordingEmitter otherCustomerStream = new RecordingEmitter();
+        hub.subscribeOrder(orderId, orderStream, () -> snapshot(OrderStatus.CREATED));
+        hub.subscribeCustomer(customerId, customerStream);
+        hub.subscribeCustomer(UUID.randomUUID(), otherCustomerStream);
+        runDrains();
+
+        hub.publish(List.of(event(orderId, 1L, OrderStatus.PROCESSING)));
+        runDrains();
+
+        assertThat(orderStream.events).extracting(e -> e.status).containsExactly(OrderStatus.CREATED, OrderStatus.PROCESSING);
+        assertThat(customerStream.events).extracting(e -> e.eventId).containsExactly(1L);
+        assertThat(otherCustomerStream.events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest pending event per order for a subscriber that is behind")
+    void shouldCoalescePendingEventsPerOrder() {
+        RecordingEmitter stream = new RecordingEmitter();
+        hub.subscribeCustomer(customerId, stream);
+
+        hub.publish(List.of(
+                event(orderId, 1L, OrderStatus.PROCESSING),
+                event(orderId, 2L, OrderStatus.SHIPPED),
+                event(orderId, 3L, OrderStatus.DELIVERED)));
+        hub.publish(List.of(event(orderId, 2L, OrderStatus.SHIPPED)));
+        runDrains();
+
+        assertThat(stream.events).extracting(e -> e.status).containsExactly(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer overflows without affecting the others")
+    void shouldDisconnectSubscriberWhoseBufferOverflows() {
+        RecordingEmitter slow = new RecordingEmitter();
+        RecordingEmitter orderStream = new RecordingEmitter();
+        hub.subscribeCustomer(customerId, slow);
+        hub.subscribeOrder(orderId, orderStream, () -> snapshot(OrderStatus.CREATED));
+
+        for (long i = 1; i <= 4; i++) {
+            hub.publish(List.of(event(UUID.randomUUID(), i, OrderStatus.PROCESSING)));
+        }
+        hub.publish(List.of(event(orderId, 5L, OrderStatus.PROCESSING)));
+        runDrains();
+
+        assertThat(slow.completed).isTrue();
+        assertThat(slow.events).isEmpty();
+        assertThat(orderStream.events).extracting(e -> e.eventId).containsExactly(5L);
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a snapshot or relayed event older than the version already sent")
+    void shouldDropEventsOlderThanVersionAlreadySent() {
+        RecordingEmitter stream = new RecordingEmitter();
+        // The change is relayed and drained while the snapshot is still being read
+        hub.subscribeOrder(orderId, stream, () -> {
+            hub.publish(List.of(versioned(event(orderId, 7L, OrderStatus.SHIPPED), 2L)));
+            runDrains();
+            return versioned(snapshot(OrderStatus.PROCESSING), 1L);
+        });
+        runDrains();
+        hub.publish(List.of(versioned(event(orderId, 6L, OrderStatus.PROCESSING), 1L)));
+        runDrains();
+
+        assertThat(stream.events).extracting(e -> e.status).containsExactly(OrderStatus.SHIPPED);
+
+        hub.publish(List.of(versioned(event(orderId, 8L, OrderStatus.DELIVERED), 3L)));
+        runDrains();
+        assertThat(stream.events).extracting(e -> e.status).containsExactly(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+    }
+
+    @Test
+    @DisplayName("Should keep the higher order version when coalescing pending events")
+    void shouldKeepHigherVersionWhenCoalescing() {
+        RecordingEmitter stream = new RecordingEmitter();
+        hub.subscribeOrder(orderId, stream, () -> versioned(snapshot(OrderStatus.SHIPPED), 2L));
+        hub.publish(List.of(versioned(event(orderId, 4L, OrderStatus.PROCESSING), 1L)));
+        runDrains();
+
+        assertThat(stream.events).extracting(e -> e.status).containsExactly(OrderStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose connection is gone")
+    void shouldDropSubscriberWhoseConnectionIsGone() {
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failing = true;
+        hub.subscribeCustomer(customerId, gone);
+
+        hub.heartbeat();
+        runDrains();
+
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    private void runDrains() {
+        Runnable drain;
+        while ((drain = pendingDrains.poll()) != null) {
+            drain.run();
+        }
+    }
+
+    private OrderEvent snapshot(OrderStatus status) {
+        OrderEvent snapshot = new OrderEvent();
+        snapshot.orderId = orderId;
+        snapshot.status = status;
+        return snapshot;
+    }
+
+    private static OrderEvent versioned(OrderEvent event, long version) {
+        event.version = version;
+        return event;
+    }
+
+    private OrderEvent event(UUID order, long eventId, OrderStatus status) {
+        OrderEvent event = new OrderEvent();
+        event.eventId = eventId;
+        event.orderId = order;
+        event.customerId = customerId;
+        event.type = OrderEventType.STATUS_CHANGED;
+        event.status = status;
+        return event;
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<OrderEvent> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof OrderEvent event) {
+                    events.add(event);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+    }
+}
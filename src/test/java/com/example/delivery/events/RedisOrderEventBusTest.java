@@ -0,0 +1,120 @@
+package com.example.delivery.events;
+
+import com.example.delivery.domain.OrderEventType;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisOrderEventBus Tests")
+class RedisOrderEventBusTest {
+
+    private static final String CHANNEL = "delivery:orders:events";
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisMessageListenerContainer container;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<List<OrderEvent>> delivered = new CopyOnWriteArrayList<>();
+    private RedisOrderEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new RedisOrderEventBus(connectionFactory, container, objectMapper, CHANNEL);
+        bus.subscribe(delivered::add);
+    }
+
+    @Test
+    @DisplayName("Should listen on the configured channel")
+    void shouldListenOnConfiguredChannel() {
+        verify(container).addMessageListener(bus, new ChannelTopic(CHANNEL));
+    }
+
+    @Test
+    @DisplayName("Should publish a batch to the channel and deliver it when the message comes back")
+    void shouldPublishBatchAndDeliverItFromChannel() throws Exception {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        OrderEvent event = event();
+
+        bus.publish(List.of(event));
+
+        assertThat(delivered).isEmpty();
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(eq(CHANNEL_BYTES), body.capture());
+        verify(connection).close();
+
+        bus.onMessage(new DefaultMessage(CHANNEL_BYTES, body.getValue()), null);
+
+        assertThat(delivered).hasSize(1);
+        OrderEvent received = delivered.get(0).get(0);
+        assertThat(received.sequence).isEqualTo(event.sequence);
+        assertThat(received.eventId).isEqualTo(event.eventId);
+        assertThat(received.orderId).isEqualTo(event.orderId);
+        assertThat(received.version).isEqualTo(event.version);
+        assertThat(received.status).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(received.occurredAt).isEqualTo(event.occurredAt);
+    }
+
+    @Test
+    @DisplayName("Should deliver locally when Redis is unavailable")
+    void shouldDeliverLocallyWhenRedisIsUnavailable() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("connection refused"));
+        OrderEvent event = event();
+
+        bus.publish(List.of(event));
+
+        assertThat(delivered).containsExactly(List.of(event));
+    }
+
+    @Test
+    @DisplayName("Should ignore a message that is not an event batch")
+    void shouldIgnoreMalformedMessage() {
+        bus.onMessage(new DefaultMessage(CHANNEL_BYTES, "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(delivered).isEmpty();
+    }
+
+    private static OrderEvent event() {
+        OrderEvent event = new OrderEvent();
+        event.sequence = 42;
+        event.eventId = 7L;
+        event.orderId = UUID.randomUUID();
+        event.customerId = UUID.randomUUID();
+        event.type = OrderEventType.STATUS_CHANGED;
+        event.status = OrderStatus.SHIPPED;
+        event.version = 3L;
+        event.occurredAt = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        return event;
+    }
+}
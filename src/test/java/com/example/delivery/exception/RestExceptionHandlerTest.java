@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -41,6 +42,33 @@ class RestExceptionHandlerTest {
         when(request.getRequestURI()).thenReturn("/api/v1/customers");
     }
 
+    @Test
+    @DisplayName("Should handle ConflictException as 409")
+    void shouldHandleConflictExceptionAs409() {
+        ConflictException exception = new ConflictException("Cannot change order status from DELIVERED to PROCESSING");
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleConflict(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status).isEqualTo(409);
+        assertThat(response.getBody().error).isEqualTo("Conflict");
+        assertThat(response.getBody().message).isEqualTo("Cannot change order status from DELIVERED to PROCESSING");
+    }
+
+    @Test
+    @DisplayName("Should map an optimistic locking failure to 409")
+    void shouldMapOptimisticLockingFailureTo409() {
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated by another transaction");
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleOptimisticLock(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status).isEqualTo(409);
+        assertThat(response.getBody().message).isEqualTo("Resource was modified concurrently, reload and try again");
+    }
+
     @Test
     @DisplayName("Should handle NotFoundException correctly")
     void shouldHandleNotFoundExceptionCorrectly() {
@@ -68,6 +96,20 @@ class RestExceptionHandlerTest {
         assertThat(response.getBody().message).isNull();
     }
 
+    @Test
+    @DisplayName("Should handle BadRequestException correctly")
+    void shouldHandleBadRequestExceptionCorrectly() {
+        BadRequestException exception = new BadRequestException("Invalid cursor");
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleBadRequest(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().status).isEqualTo(400);
+        assertThat(response.getBody().error).isEqualTo("Bad Request");
+        assertThat(response.getBody().message).isEqualTo("Invalid cursor");
+        assertThat(response.getBody().path).isEqualTo("/api/v1/customers");
+    }
+
     @Test
     @DisplayName("Should handle MethodArgumentNotValidException correctly")
     void shouldHandleMethodArgumentNotValidExceptionCorrectly() {
@@ -0,0 +1,139 @@
+package com.example.delivery.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JdbcStatementMetricsFilter Tests")
+class JdbcStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcStatementCounter counter = new JdbcStatementCounter();
+    private final JdbcStatementMetricsFilter filter =
+            new JdbcStatementMetricsFilter(counter, registry, StatementBudgetMode.WARN);
+
+    @Test
+    @DisplayName("Should record the statements of a request under its route pattern")
+    void shouldRecordStatementsUnderRoutePattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders/42");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/orders/{id}");
+            counter.inspect("select o from orders o");
+            counter.inspect("select i from order_items i");
+            counter.inspect("select p from products p");
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        DistributionSummary summary = registry.get(JdbcStatementMetricsFilter.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/orders/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(3.0);
+        assertThat(counter.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should still record and reset the counter when the request fails")
+    void shouldRecordAndResetWhenRequestFails() {
+        FilterChain chain = (req, res) -> {
+            counter.inspect("select c from customers c");
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/orders"),
+                new MockHttpServletResponse(), chain)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(JdbcStatementMetricsFilter.METRIC).tag("uri", "UNKNOWN").summary().totalAmount())
+                .isEqualTo(1.0);
+        assertThat(counter.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count a request over its handler budget and let it through in warn mode")
+    void shouldCountRequestOverBudgetInWarnMode() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(budgeted(1), response, issuing(3));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(registry.get(JdbcStatementMetricsFilter.OVER_BUDGET_METRIC)
+                .tag("handler", "OrderController.get").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should only count a request over its budget in fail mode once the response is written")
+    void shouldOnlyCountRequestOverBudgetInFailModeAfterResponse() throws Exception {
+        JdbcStatementMetricsFilter strict = new JdbcStatementMetricsFilter(counter, registry, StatementBudgetMode.FAIL);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        strict.doFilter(budgeted(2), response, issuing(3));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(registry.get(JdbcStatementMetricsFilter.OVER_BUDGET_METRIC)
+                .tag("handler", "OrderController.get").counter().count()).isEqualTo(1.0);
+        assertThat(counter.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept a request within its handler budget in fail mode")
+    void shouldAcceptRequestWithinBudgetInFailMode() throws Exception {
+        JdbcStatementMetricsFilter strict = new JdbcStatementMetricsFilter(counter, registry, StatementBudgetMode.FAIL);
+
+        strict.doFilter(budgeted(3), new MockHttpServletResponse(), issuing(3));
+
+        assertThat(registry.find(JdbcStatementMetricsFilter.OVER_BUDGET_METRIC).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve the budget declared on the handler method")
+    void shouldResolveBudgetDeclaredOnHandlerMethod() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders/42");
+        HandlerMethod handler = new HandlerMethod(new BudgetedController(), BudgetedController.class.getMethod("get"));
+
+        new StatementBudgetInterceptor().preHandle(request, new MockHttpServletResponse(), handler);
+
+        StatementBudgetInterceptor.Budget budget =
+                (StatementBudgetInterceptor.Budget) request.getAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE);
+        assertThat(budget.getHandler()).isEqualTo("BudgetedController.get");
+        assertThat(budget.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should ignore statements outside a request")
+    void shouldIgnoreStatementsOutsideRequest() {
+        assertThat(counter.inspect("select 1")).isEqualTo("select 1");
+        assertThat(counter.count()).isZero();
+    }
+
+    private MockHttpServletRequest budgeted(int limit) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders/42");
+        request.setAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE,
+                new StatementBudgetInterceptor.Budget("OrderController.get", limit));
+        return request;
+    }
+
+    private FilterChain issuing(int statements) {
+        return (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select " + i);
+            }
+        };
+    }
+
+    static class BudgetedController {
+        @StatementBudget(3)
+        public void get() {
+        }
+    }
+}
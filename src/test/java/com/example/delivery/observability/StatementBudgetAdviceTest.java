@@ -0,0 +1,81 @@
+package com.example.delivery.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StatementBudgetAdvice Tests")
+class StatementBudgetAdviceTest {
+
+    private final JdbcStatementCounter counter = new JdbcStatementCounter();
+    private final StatementBudgetAdvice advice = advice(StatementBudgetMode.FAIL);
+
+    @AfterEach
+    void tearDown() {
+        counter.end();
+    }
+
+    @Test
+    @DisplayName("Should fail an over-budget request before its body is written and only once")
+    void shouldFailOverBudgetRequestBeforeBodyOnce() {
+        MockHttpServletRequest request = budgeted(2);
+        counter.begin();
+        issue(3);
+
+        assertThatThrownBy(() -> write(advice, request, "order"))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessageContaining("issued 3 SQL statements, budget is 2");
+        // The error body rendered for the same request goes through
+        assertThat(write(advice, request, "error")).isEqualTo("error");
+    }
+
+    @Test
+    @DisplayName("Should write the body of a request within its budget")
+    void shouldWriteBodyWithinBudget() {
+        counter.begin();
+        issue(2);
+
+        assertThat(write(advice, budgeted(2), "order")).isEqualTo("order");
+    }
+
+    @Test
+    @DisplayName("Should only apply in fail mode")
+    void shouldOnlyApplyInFailMode() {
+        assertThat(advice(StatementBudgetMode.WARN).supports(null, MappingJackson2HttpMessageConverter.class)).isFalse();
+        assertThat(advice.supports(null, MappingJackson2HttpMessageConverter.class)).isTrue();
+    }
+
+    private StatementBudgetAdvice advice(StatementBudgetMode mode) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("jdbcStatementCounter", counter);
+        return new StatementBudgetAdvice(beans.getBeanProvider(JdbcStatementCounter.class), mode);
+    }
+
+    private static Object write(StatementBudgetAdvice advice, MockHttpServletRequest request, Object body) {
+        return advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    private static MockHttpServletRequest budgeted(int limit) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.setAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE,
+                new StatementBudgetInterceptor.Budget("OrderController.create", limit));
+        return request;
+    }
+
+    private void issue(int statements) {
+        for (int i = 0; i < statements; i++) {
+            counter.inspect("select " + i);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.delivery.repository;
 
 import com.example.delivery.domain.*;
+import com.example.delivery.observability.StatementBudget;
+import com.example.delivery.support.StatementBudgetConfig;
+import com.example.delivery.support.StatementBudgetExtension;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -17,6 +22,8 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(StatementBudgetConfig.class)
+@ExtendWith(StatementBudgetExtension.class)
 @DisplayName("OrderRepository Tests")
 class OrderRepositoryTest {
 
@@ -206,6 +213,7 @@ class OrderRepositoryTest {
     }
 
     @Test
+    @StatementBudget(1)
     @DisplayName("Should return empty optional for non-existent order")
     void shouldReturnEmptyOptionalForNonExistentOrder() {
         UUID nonExistentId = UUID.randomUUID();
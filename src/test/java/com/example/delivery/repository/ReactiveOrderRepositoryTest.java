@@ -0,0 +1,127 @@
+package com.example.delivery.repository;
+
+import com.example.delivery.domain.OrderStatus;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReactiveOrderRepository Tests")
+class ReactiveOrderRepositoryTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private DatabaseClient client;
+    private ReactiveOrderRepository repository;
+    private UUID customerId;
+    private UUID pizzaId;
+    private UUID sodaId;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///reactive-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        client = DatabaseClient.create(connectionFactory);
+        repository = new ReactiveOrderRepository(connectionFactory);
+        Flux.just(
+                "create table customers (id uuid primary key, name varchar(255), email varchar(255), phone varchar(255))",
+                "create table products (id uuid primary key, name varchar(255), price numeric(19,2))",
+                "create table orders (id uuid primary key, customer_id uuid not null, status varchar(32), "
+                        + "version bigint, created_at timestamp(6) with time zone)",
+                "create table order_items (id bigint primary key, order_id uuid not null, product_id uuid not null, "
+                        + "quantity integer, unit_price numeric(19,2) not null)")
+                .concatMap(ddl -> client.sql(ddl).then())
+                .blockLast();
+
+        customerId = UUID.randomUUID();
+        pizzaId = UUID.randomUUID();
+        sodaId = UUID.randomUUID();
+        client.sql("insert into customers values (:id, 'John Doe', 'john.doe@example.com', '+55 11 99999-0000')")
+                .bind("id", customerId).then().block();
+        client.sql("insert into products values (:id, 'Pizza', 45.90)").bind("id", pizzaId).then().block();
+        client.sql("insert into products values (:id, 'Soda', 7.50)").bind("id", sodaId).then().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.destroy();
+    }
+
+    @Test
+    @DisplayName("Should assemble an order with its customer, items and total")
+    void shouldAssembleOrderWithCustomerItemsAndTotal() {
+        UUID orderId = insertOrder(OrderStatus.CREATED, BASE, 1);
+
+        StepVerifier.create(repository.findById(orderId))
+                .assertNext(order -> {
+                    assertThat(order.id).isEqualTo(orderId);
+                    assertThat(order.status).isEqualTo(OrderStatus.CREATED);
+                    assertThat(order.version).isZero();
+                    assertThat(order.createdAt.toInstant()).isEqualTo(BASE.toInstant());
+                    assertThat(order.customer.id).isEqualTo(customerId);
+                    assertThat(order.customer.email).isEqualTo("john.doe@example.com");
+                    assertThat(order.items).extracting(i -> i.productName).containsExactly("Pizza", "Soda");
+                    assertThat(order.items.get(1).total).isEqualByComparingTo("15.00");
+                    assertThat(order.total).isEqualByComparingTo("60.90");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty for an unknown order")
+    void shouldCompleteEmptyForUnknownOrder() {
+        StepVerifier.create(repository.findById(UUID.randomUUID())).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream the latest orders of a status newest first")
+    void shouldStreamLatestOrdersOfStatusNewestFirst() {
+        insertOrder(OrderStatus.SHIPPED, BASE, 10);
+        UUID middle = insertOrder(OrderStatus.SHIPPED, BASE.plusMinutes(1), 20);
+        UUID newest = insertOrder(OrderStatus.SHIPPED, BASE.plusMinutes(2), 30);
+        insertOrder(OrderStatus.CREATED, BASE.plusMinutes(3), 40);
+
+        StepVerifier.create(repository.findLatestByStatus(OrderStatus.SHIPPED, 2))
+                .assertNext(order -> {
+                    assertThat(order.id).isEqualTo(newest);
+                    assertThat(order.items).hasSize(2);
+                })
+                .assertNext(order -> assertThat(order.id).isEqualTo(middle))
+                .verifyComplete();
+    }
+
+    private UUID insertOrder(OrderStatus status, OffsetDateTime createdAt, long firstItemId) {
+        UUID orderId = UUID.randomUUID();
+        client.sql("insert into orders (id, customer_id, status, created_at) values (:id, :customerId, :status, :createdAt)")
+                .bind("id", orderId)
+                .bind("customerId", customerId)
+                .bind("status", status.name())
+                .bind("createdAt", createdAt)
+                .then().block();
+        insertItem(firstItemId, orderId, pizzaId, 1, new BigDecimal("45.90"));
+        insertItem(firstItemId + 1, orderId, sodaId, 2, new BigDecimal("7.50"));
+        return orderId;
+    }
+
+    private void insertItem(long id, UUID orderId, UUID productId, int quantity, BigDecimal unitPrice) {
+        client.sql("insert into order_items values (:id, :orderId, :productId, :quantity, :unitPrice)")
+                .bind("id", id)
+                .bind("orderId", orderId)
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .bind("unitPrice", unitPrice)
+                .then().block();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.BulkOrderResponse;
+import com.example.delivery.dto.BulkOrderResult;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.repository.CustomerRepository;
+import com.example.delivery.repository.OrderOutboxRepository;
+import com.example.delivery.repository.OrderRepository;
+import com.example.delivery.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doCallRealMethod;
+
+// Not transactional: each chunk runs in its own transaction, which must commit or roll back for real
+@DataJpaTest(properties = "delivery.bulk.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({BulkOrderService.class, CustomerService.class, ProductService.class, OrderMetrics.class, SimpleMeterRegistry.class})
+@DisplayName("BulkOrderService Chunk Failure Tests")
+class BulkOrderServiceChunkFailureTest {
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @SpyBean
+    private OrderOutboxRepository outboxRepository;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer = customerRepository.save(customer);
+
+        product = new Product();
+        product.setName("Pizza");
+        product.setPrice(new BigDecimal("10.00"));
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should roll back only the failing chunk and report its orders as failed")
+    void shouldRollBackOnlyFailingChunkAndReportItsOrdersAsFailed() {
+        doCallRealMethod()
+                .doThrow(new DataIntegrityViolationException("outbox insert failed"))
+                .doCallRealMethod()
+                .when(outboxRepository).insertCreatedEvents(anyCollection());
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(order());
+        }
+
+        BulkOrderResponse result = bulkOrderService.create(requests.iterator());
+
+        assertThat(result.created).isEqualTo(4);
+        assertThat(result.failed).isEqualTo(2);
+        assertThat(result.results).extracting(r -> r.outcome).containsExactly(
+                BulkOrderResult.Outcome.CREATED, BulkOrderResult.Outcome.CREATED,
+                BulkOrderResult.Outcome.FAILED, BulkOrderResult.Outcome.FAILED,
+                BulkOrderResult.Outcome.CREATED, BulkOrderResult.Outcome.CREATED);
+        assertThat(result.results.get(2).error).isEqualTo("Chunk could not be saved, retry the order");
+        assertThat(result.results.get(2).id).isNull();
+        // The orders of the failed chunk were rolled back together with their outbox rows
+        assertThat(orderRepository.count()).isEqualTo(4);
+        assertThat(outboxRepository.count()).isEqualTo(4);
+        assertThat(orderRepository.findAllById(List.of(result.results.get(0).id, result.results.get(5).id))).hasSize(2);
+    }
+
+    private CreateOrderRequest order() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.productId = product.getId();
+        item.quantity = 1;
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.customerId = customer.getId();
+        request.items = List.of(item);
+        return request;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.Product;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.BulkOrderResponse;
+import com.example.delivery.dto.BulkOrderResult;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.support.SqlStatementCounter;
+import com.example.delivery.support.SqlStatementCounterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "delivery.bulk.chunk-size=10")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({BulkOrderService.class, CustomerService.class, ProductService.class, OrderMetrics.class, SimpleMeterRegistry.class,
+        SqlStatementCounterConfig.class})
+@DisplayName("BulkOrderService Persistence Tests")
+class BulkOrderServicePersistenceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    private Customer customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer = entityManager.persist(customer);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            products.add(entityManager.persist(product));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        sqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Should create the valid orders and report every rejected one by index")
+    void shouldCreateValidOrdersAndReportRejectedOnesByIndex() {
+        CreateOrderRequest unknownCustomer = order(customer.getId(), products.get(0).getId(), 1);
+        unknownCustomer.customerId = UUID.randomUUID();
+        UUID missingProduct = UUID.randomUUID();
+
+        BulkOrderResponse result = bulkOrderService.create(Arrays.asList(
+                order(customer.getId(), products.get(0).getId(), 2),
+                null,
+                unknownCustomer,
+                order(customer.getId(), missingProduct, 1),
+                order(customer.getId(), products.get(1).getId(), 0),
+                order(customer.getId(), products.get(2).getId(), 1),
+                new BulkOrderService.MalformedOrder("Unexpected end-of-input")).iterator());
+
+        assertThat(result.received).isEqualTo(7);
+        assertThat(result.created).isEqualTo(2);
+        assertThat(result.rejected).isEqualTo(5);
+        assertThat(result.results).extracting(r -> r.outcome).containsExactly(
+                BulkOrderResult.Outcome.CREATED, BulkOrderResult.Outcome.REJECTED, BulkOrderResult.Outcome.REJECTED,
+                BulkOrderResult.Outcome.REJECTED, BulkOrderResult.Outcome.REJECTED, BulkOrderResult.Outcome.CREATED,
+                BulkOrderResult.Outcome.REJECTED);
+        assertThat(result.results.get(1).error).isEqualTo("Malformed order");
+        assertThat(result.results.get(2).error).isEqualTo("Customer not found");
+        assertThat(result.results.get(3).error).isEqualTo("Product not found: [" + missingProduct + "]");
+        assertThat(result.results.get(4).error).startsWith("quantity ");
+        assertThat(entityManager.find(PurchaseOrder.class, result.results.get(5).id)).isNotNull();
+        assertThat(result.results.get(6).error).isEqualTo("Malformed order: Unexpected end-of-input");
+    }
+
+    @Test
+    @DisplayName("Should prefetch customers and products once per chunk and batch the inserts")
+    void shouldPrefetchOncePerChunkAndBatchInserts() {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            requests.add(order(customer.getId(), products.get(i % products.size()).getId(), 1));
+        }
+
+        BulkOrderResponse result = bulkOrderService.create(requests.iterator());
+
+        assertThat(result.created).isEqualTo(25);
+        assertThat(sqlStatementCounter.selectsFrom("customers")).isEqualTo(3);
+        assertThat(sqlStatementCounter.selectsFrom("products")).isEqualTo(3);
+        assertThat(sqlStatementCounter.insertsInto("orders")).isEqualTo(3);
+        assertThat(sqlStatementCounter.insertsInto("order_outbox")).isEqualTo(3);
+        assertThat(sqlStatementCounter.batchedRows()).isGreaterThanOrEqualTo(50);
+    }
+
+    private static CreateOrderRequest order(UUID customerId, UUID productId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.productId = productId;
+        item.quantity = quantity;
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.customerId = customerId;
+        request.items = List.of(item);
+        return request;
+    }
+}
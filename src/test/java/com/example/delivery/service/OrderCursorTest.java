@@ -0,0 +1,38 @@
+package com.example.delivery.service;
+
+import com.example.delivery.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OrderCursor Tests")
+class OrderCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip createdAt and id through an opaque token")
+    void shouldRoundTripCreatedAtAndIdThroughOpaqueToken() {
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 3, 1, 12, 30, 15, 123456000, ZoneOffset.ofHours(-3));
+        UUID id = UUID.randomUUID();
+
+        String token = OrderCursor.encode(createdAt, id);
+        OrderCursor cursor = OrderCursor.decode(token);
+
+        assertThat(token).doesNotContain(id.toString());
+        assertThat(cursor.getCreatedAt().toInstant()).isEqualTo(createdAt.toInstant());
+        assertThat(cursor.getId()).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens as bad requests")
+    void shouldRejectMalformedTokensAsBadRequests() {
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Invalid cursor");
+    }
+}
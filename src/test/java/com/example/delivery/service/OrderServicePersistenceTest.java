@@ -0,0 +1,366 @@
+package com.example.delivery.service;
+
+import com.example.delivery.cache.ReactiveOrderCache;
+import com.example.delivery.domain.Customer;
+import com.example.delivery.domain.OrderItem;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.domain.Product;
+import com.example.delivery.domain.PurchaseOrder;
+import com.example.delivery.dto.CreateOrderRequest;
+import com.example.delivery.dto.OrderItemRequest;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.dto.OrderStatusResponse;
+import com.example.delivery.dto.PageResponse;
+import com.example.delivery.dto.UpdateOrderStatusRequest;
+import com.example.delivery.exception.ConflictException;
+import com.example.delivery.exception.NotFoundException;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.observability.StatementBudget;
+import com.example.delivery.support.SqlStatementCounter;
+import com.example.delivery.support.SqlStatementCounterConfig;
+import com.example.delivery.support.StatementBudgetConfig;
+import com.example.delivery.support.StatementBudgetExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({OrderService.class, CustomerService.class, ProductService.class, OrderMetrics.class, SimpleMeterRegistry.class,
+        SqlStatementCounterConfig.class, StatementBudgetConfig.class, OrderServicePersistenceTest.OrderCacheConfig.class})
+@ExtendWith(StatementBudgetExtension.class)
+@DisplayName("OrderService Persistence Tests")
+class OrderServicePersistenceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    private Customer customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("John Doe");
+        customer.setEmail("john.doe@example.com");
+        customer = entityManager.persist(customer);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            products.add(entityManager.persist(product));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        sqlStatementCounter.reset();
+    }
+
+    @Test
+    @StatementBudget(8)
+    @DisplayName("Should resolve all products of a 50-item order with a single query")
+    void shouldResolveAllProductsOfFiftyItemOrderWithSingleQuery() {
+        CreateOrderRequest request = orderRequest(products);
+
+        OrderResponse result = orderService.create(request);
+        entityManager.flush();
+
+        assertThat(result.items).hasSize(50);
+        assertThat(result.total).isEqualByComparingTo("500.00");
+        assertThat(sqlStatementCounter.selectsFrom("products")).isEqualTo(1);
+        assertThat(sqlStatementCounter.selectsFrom("customers")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should issue one product query when lines repeat the same products")
+    void shouldIssueOneProductQueryWhenLinesRepeatSameProducts() {
+        List<Product> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            repeated.add(products.get(i % 5));
+        }
+
+        OrderResponse result = orderService.create(orderRequest(repeated));
+        entityManager.flush();
+
+        assertThat(result.items).hasSize(50);
+        assertThat(result.items).extracting(i -> i.productId).containsOnly(
+            products.get(0).getId(), products.get(1).getId(), products.get(2).getId(),
+            products.get(3).getId(), products.get(4).getId());
+        assertThat(sqlStatementCounter.selectsFrom("products")).isEqualTo(1);
+    }
+
+    @Test
+    @StatementBudget(10)
+    @DisplayName("Should write a 100-line order with a few batched round trips")
+    void shouldWriteHundredLineOrderWithFewBatchedRoundTrips() {
+        List<Product> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add(products.get(i % products.size()));
+        }
+
+        orderService.create(orderRequest(lines));
+        entityManager.flush();
+
+        assertThat(sqlStatementCounter.batchedRows()).isGreaterThanOrEqualTo(100);
+        assertThat(sqlStatementCounter.insertsInto("order_items")).isBetween(1L, 2L);
+        assertThat(sqlStatementCounter.executions()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should list every page of orders with a constant number of statements")
+    void shouldListEveryPageOfOrdersWithConstantNumberOfStatements() {
+        persistOrders(30, 3);
+
+        List<Integer> statementsPerPage = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            sqlStatementCounter.reset();
+            PageResponse<OrderResponse> result = orderService.list(null, PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+            assertThat(result.content).hasSize(10).allSatisfy(r -> assertThat(r.items).hasSize(3));
+            assertThat(result.totalElements).isEqualTo(30L);
+            assertThat(result.nextCursor).isNull();
+            statementsPerPage.add(sqlStatementCounter.executions());
+            entityManager.clear();
+        }
+
+        assertThat(statementsPerPage).containsOnly(statementsPerPage.get(0));
+        assertThat(statementsPerPage.get(0)).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should walk every order once with keyset cursors")
+    void shouldWalkEveryOrderOnceWithKeysetCursors() {
+        persistOrders(25, 1);
+
+        Set<UUID> seen = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = "";
+        do {
+            sqlStatementCounter.reset();
+            PageResponse<OrderResponse> page = orderService.scroll(null, cursor, 10);
+            page.content.forEach(r -> assertThat(seen.add(r.id)).isTrue());
+            pageSizes.add(page.content.size());
+            assertThat(sqlStatementCounter.executions()).isLessThanOrEqualTo(2);
+            assertThat(page.content).isSortedAccordingTo((a, b) -> b.createdAt.compareTo(a.createdAt));
+            assertThat(page.size).isEqualTo(10);
+            assertThat(page.page).isNull();
+            assertThat(page.totalElements).isNull();
+            assertThat(page.totalPages).isNull();
+            cursor = page.nextCursor;
+            entityManager.clear();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(25);
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Should load an order with its customer, items and products in one statement")
+    void shouldLoadOrderDetailInOneStatement() {
+        UUID orderId = persistSingleOrder();
+        sqlStatementCounter.reset();
+
+        OrderResponse result = orderService.get(orderId);
+
+        assertThat(result.customer.name).isEqualTo("John Doe");
+        assertThat(result.items).hasSize(3).allSatisfy(i -> assertThat(i.productName).startsWith("Product "));
+        assertThat(sqlStatementCounter.executions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should change the status with one UPDATE plus its outbox event and no order reads")
+    void shouldChangeStatusWithOneUpdateAndNoOrderReads() {
+        UUID orderId = persistSingleOrder();
+        sqlStatementCounter.reset();
+
+        OrderStatusResponse result = orderService.updateStatus(orderId, statusRequest(OrderStatus.PROCESSING));
+
+        assertThat(result.status).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(sqlStatementCounter.statements()).hasSize(2);
+        assertThat(sqlStatementCounter.statements().get(0)).startsWith("update orders ");
+        assertThat(sqlStatementCounter.insertsInto("order_outbox")).isEqualTo(1);
+        entityManager.clear();
+        assertThat(entityManager.find(PurchaseOrder.class, orderId).getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        // The event carries the version the UPDATE produced
+        assertThat(entityManager.getEntityManager()
+                .createQuery("select e.orderVersion from OrderOutboxEvent e where e.orderId = :id", Long.class)
+                .setParameter("id", orderId).getSingleResult()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject an illegal transition with a conflict and keep the status")
+    void shouldRejectIllegalTransitionWithConflict() {
+        UUID orderId = persistSingleOrder();
+
+        assertThatThrownBy(() -> orderService.updateStatus(orderId, statusRequest(OrderStatus.DELIVERED)))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Cannot change order status from CREATED to DELIVERED");
+        entityManager.clear();
+        assertThat(entityManager.find(PurchaseOrder.class, orderId).getStatus()).isEqualTo(OrderStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should bump the version on each change and reject a stale expected version")
+    void shouldBumpVersionAndRejectStaleExpectedVersion() {
+        UUID orderId = persistSingleOrder();
+        assertThat(entityManager.find(PurchaseOrder.class, orderId).getVersion()).isZero();
+
+        UpdateOrderStatusRequest first = statusRequest(OrderStatus.PROCESSING);
+        first.expectedVersion = 0L;
+        assertThat(orderService.updateStatus(orderId, first).version).isEqualTo(1L);
+
+        UpdateOrderStatusRequest stale = statusRequest(OrderStatus.SHIPPED);
+        stale.expectedVersion = 0L;
+        assertThatThrownBy(() -> orderService.updateStatus(orderId, stale))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Order is at version 1, expected 0");
+
+        entityManager.clear();
+        PurchaseOrder reloaded = entityManager.find(PurchaseOrder.class, orderId);
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(reloaded.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer a re-sent status without a new version or outbox event")
+    void shouldAnswerResentStatusWithoutNewVersionOrOutboxEvent() {
+        UUID orderId = persistSingleOrder();
+        UpdateOrderStatusRequest first = statusRequest(OrderStatus.PROCESSING);
+        first.expectedVersion = 0L;
+        orderService.updateStatus(orderId, first);
+        long outboxRows = outboxRows(orderId);
+        sqlStatementCounter.reset();
+
+        // A retry of the same request still carries the version read before the first attempt
+        OrderStatusResponse retried = orderService.updateStatus(orderId, first);
+
+        assertThat(retried.status).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(retried.version).isEqualTo(1L);
+        assertThat(sqlStatementCounter.insertsInto("order_outbox")).isZero();
+        assertThat(outboxRows(orderId)).isEqualTo(outboxRows);
+        entityManager.clear();
+        assertThat(entityManager.find(PurchaseOrder.class, orderId).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should report an unknown order as not found")
+    void shouldReportUnknownOrderAsNotFound() {
+        assertThatThrownBy(() -> orderService.updateStatus(UUID.randomUUID(), statusRequest(OrderStatus.PROCESSING)))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should stream every order once in createdAt order and leave the persistence context empty")
+    void shouldStreamEveryOrderOnceAndLeavePersistenceContextEmpty() {
+        persistOrders(30, 3);
+        sqlStatementCounter.reset();
+
+        List<OrderResponse> exported = new ArrayList<>();
+        long count = orderService.export(OrderStatus.CREATED, null, null, exported::add);
+
+        assertThat(count).isEqualTo(30L);
+        assertThat(exported).hasSize(30).allSatisfy(r -> assertThat(r.items).hasSize(3));
+        assertThat(exported).extracting(r -> r.id).doesNotHaveDuplicates();
+        assertThat(exported).isSortedAccordingTo((a, b) -> a.createdAt.compareTo(b.createdAt));
+        assertThat(sqlStatementCounter.selectsFrom("orders")).isEqualTo(1);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should export nothing when the status filter matches no order")
+    void shouldExportNothingWhenStatusFilterMatchesNoOrder() {
+        persistOrders(5, 1);
+
+        List<OrderResponse> exported = new ArrayList<>();
+        long count = orderService.export(OrderStatus.DELIVERED, null, null, exported::add);
+
+        assertThat(count).isZero();
+        assertThat(exported).isEmpty();
+    }
+
+    private UUID persistSingleOrder() {
+        persistOrders(1, 3);
+        return entityManager.getEntityManager()
+                .createQuery("select o.id from PurchaseOrder o", UUID.class).getSingleResult();
+    }
+
+    private UpdateOrderStatusRequest statusRequest(OrderStatus status) {
+        UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
+        request.status = status;
+        return request;
+    }
+
+    private void persistOrders(int count, int itemsPerOrder) {
+        Customer owner = entityManager.find(Customer.class, customer.getId());
+        for (int i = 0; i < count; i++) {
+            PurchaseOrder order = new PurchaseOrder();
+            order.setCustomer(owner);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(entityManager.find(Product.class, products.get(j).getId()));
+                item.setQuantity(1);
+                item.setUnitPrice(new BigDecimal("10.00"));
+                order.getItems().add(item);
+            }
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private CreateOrderRequest orderRequest(List<Product> lines) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.customerId = customer.getId();
+        request.items = new ArrayList<>();
+        for (Product product : lines) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.productId = product.getId();
+            item.quantity = 1;
+            request.items.add(item);
+        }
+        return request;
+    }
+
+    private long outboxRows(UUID orderId) {
+        return entityManager.getEntityManager()
+                .createQuery("select count(e) from OrderOutboxEvent e where e.orderId = :id", Long.class)
+                .setParameter("id", orderId).getSingleResult();
+    }
+
+    @TestConfiguration
+    static class OrderCacheConfig {
+
+        @Bean
+        ReactiveOrderCache reactiveOrderCache() {
+            return ReactiveOrderCache.noOp();
+        }
+    }
+}
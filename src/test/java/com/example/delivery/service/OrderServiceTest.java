@@ -1,28 +1,46 @@
 package com.example.delivery.service;
 
+import com.example.delivery.cache.ReactiveOrderCache;
 import com.example.delivery.domain.*;
 import com.example.delivery.dto.*;
+import com.example.delivery.exception.ConflictException;
 import com.example.delivery.exception.NotFoundException;
+import com.example.delivery.observability.OrderMetrics;
+import com.example.delivery.repository.OrderOutboxRepository;
 import com.example.delivery.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,12 +50,24 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
     @Mock
     private CustomerService customerService;
 
     @Mock
     private ProductService productService;
 
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @Mock
+    private ReactiveOrderCache orderCache;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -96,14 +126,8 @@ class OrderServiceTest {
     @DisplayName("Should create order successfully")
     void shouldCreateOrderSuccessfully() {
         when(customerService.findEntity(customerId)).thenReturn(customer);
-        when(productService.findEntity(productId)).thenReturn(product);
+        when(productService.findEntities(List.of(productId))).thenReturn(Map.of(productId, product));
         when(orderRepository.save(any(PurchaseOrder.class))).thenReturn(order);
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        customerDto.name = "John Doe";
-        customerDto.email = "john.doe@example.com";
-        when(customerService.get(customerId)).thenReturn(customerDto);
 
         OrderResponse result = orderService.create(createRequest);
 
@@ -111,14 +135,20 @@ class OrderServiceTest {
         assertThat(result.id).isEqualTo(orderId);
         assertThat(result.status).isEqualTo(OrderStatus.CREATED);
         assertThat(result.customer.id).isEqualTo(customerId);
+        assertThat(result.customer.name).isEqualTo("John Doe");
+        assertThat(result.customer.email).isEqualTo("john.doe@example.com");
         assertThat(result.items).hasSize(1);
         assertThat(result.items.get(0).productId).isEqualTo(productId);
         assertThat(result.items.get(0).quantity).isEqualTo(2);
         assertThat(result.total).isEqualTo(new BigDecimal("59.98"));
 
         verify(customerService).findEntity(customerId);
-        verify(productService).findEntity(productId);
+        verify(customerService, never()).get(any());
+        verify(productService).findEntities(List.of(productId));
         verify(orderRepository).save(any(PurchaseOrder.class));
+        verify(outboxRepository).save(argThat(e -> e.getOrderId().equals(orderId) && e.getCustomerId().equals(customerId)
+                && e.getType() == OrderEventType.CREATED));
+        verify(orderMetrics).orderCreated(1);
     }
 
     @Test
@@ -131,22 +161,24 @@ class OrderServiceTest {
             .hasMessage("Customer not found");
 
         verify(customerService).findEntity(customerId);
-        verify(productService, never()).findEntity(any());
+        verify(productService, never()).findEntities(anyCollection());
         verify(orderRepository, never()).save(any());
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
     @DisplayName("Should throw NotFoundException when product not found during order creation")
     void shouldThrowNotFoundExceptionWhenProductNotFoundDuringOrderCreation() {
         when(customerService.findEntity(customerId)).thenReturn(customer);
-        when(productService.findEntity(productId)).thenThrow(new NotFoundException("Product not found"));
+        when(productService.findEntities(List.of(productId)))
+            .thenThrow(new NotFoundException("Product not found: [" + productId + "]"));
 
         assertThatThrownBy(() -> orderService.create(createRequest))
             .isInstanceOf(NotFoundException.class)
-            .hasMessage("Product not found");
+            .hasMessage("Product not found: [" + productId + "]");
 
         verify(customerService).findEntity(customerId);
-        verify(productService).findEntity(productId);
+        verify(productService).findEntities(List.of(productId));
         verify(orderRepository, never()).save(any());
     }
 
@@ -174,13 +206,9 @@ class OrderServiceTest {
         order.getItems().add(orderItem2);
 
         when(customerService.findEntity(customerId)).thenReturn(customer);
-        when(productService.findEntity(productId)).thenReturn(product);
-        when(productService.findEntity(product2.getId())).thenReturn(product2);
+        when(productService.findEntities(List.of(productId, product2.getId())))
+            .thenReturn(Map.of(productId, product, product2.getId(), product2));
         when(orderRepository.save(any(PurchaseOrder.class))).thenReturn(order);
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
 
         OrderResponse result = orderService.create(createRequest);
 
@@ -189,119 +217,248 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should update order status successfully")
-    void shouldUpdateOrderStatusSuccessfully() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        
-        PurchaseOrder updatedOrder = new PurchaseOrder();
-        updatedOrder.setId(orderId);
-        updatedOrder.setCustomer(customer);
-        updatedOrder.setStatus(OrderStatus.PROCESSING);
-        updatedOrder.setCreatedAt(order.getCreatedAt());
-        updatedOrder.setItems(order.getItems());
-        
-        when(orderRepository.save(any(PurchaseOrder.class))).thenReturn(updatedOrder);
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
+    @DisplayName("Should resolve products once and share the instance across repeated lines")
+    void shouldResolveProductsOnceAndShareInstanceAcrossRepeatedLines() {
+        OrderItemRequest repeated = new OrderItemRequest();
+        repeated.productId = productId;
+        repeated.quantity = 3;
+        createRequest.items = Arrays.asList(createRequest.items.get(0), repeated);
+
+        when(customerService.findEntity(customerId)).thenReturn(customer);
+        when(productService.findEntities(anyCollection())).thenReturn(Map.of(productId, product));
+        when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(inv -> inv.getArgument(0));
+
+
+        OrderResponse result = orderService.create(createRequest);
+
+        assertThat(result.items).hasSize(2);
+        assertThat(result.total).isEqualTo(new BigDecimal("149.95"));
+        verify(productService, times(1)).findEntities(anyCollection());
+        verify(productService, never()).findEntity(any());
+
+        ArgumentCaptor<PurchaseOrder> saved = ArgumentCaptor.forClass(PurchaseOrder.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getItems().get(0).getProduct())
+            .isSameAs(saved.getValue().getItems().get(1).getProduct());
+    }
+
+    @Test
+    @DisplayName("Should update order status with a single conditional update")
+    void shouldUpdateOrderStatusWithSingleConditionalUpdate() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PROCESSING.allowedSources(), OrderStatus.PROCESSING))
+            .thenReturn(1);
+        when(orderCache.evict(orderId)).thenReturn(Mono.empty());
 
-        OrderResponse result = orderService.updateStatus(orderId, updateStatusRequest);
+        OrderStatusResponse result = orderService.updateStatus(orderId, updateStatusRequest);
 
+        assertThat(result.id).isEqualTo(orderId);
         assertThat(result.status).isEqualTo(OrderStatus.PROCESSING);
-        verify(orderRepository).findById(orderId);
-        verify(orderRepository).save(any(PurchaseOrder.class));
+        assertThat(result.version).isNull();
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).findDetailById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached order only once the status change commits")
+    void shouldEvictCachedOrderAfterCommit() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PROCESSING.allowedSources(), OrderStatus.PROCESSING))
+            .thenReturn(1);
+        when(orderCache.evict(orderId)).thenReturn(Mono.empty());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderService.updateStatus(orderId, updateStatusRequest);
+            verify(orderCache, never()).evict(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            verify(orderCache).evict(orderId);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     @DisplayName("Should throw NotFoundException when updating non-existent order")
     void shouldThrowNotFoundExceptionWhenUpdatingNonExistentOrder() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING))).thenReturn(0);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.updateStatus(orderId, updateStatusRequest))
             .isInstanceOf(NotFoundException.class)
             .hasMessage("Order not found");
+    }
 
-        verify(orderRepository).findById(orderId);
-        verify(orderRepository, never()).save(any());
+    @Test
+    @DisplayName("Should throw ConflictException when the transition is not allowed")
+    void shouldThrowConflictExceptionWhenTransitionIsNotAllowed() {
+        when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING))).thenReturn(0);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.DELIVERED, 3L)));
+
+        assertThatThrownBy(() -> orderService.updateStatus(orderId, updateStatusRequest))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Cannot change order status from DELIVERED to PROCESSING");
+        verify(orderMetrics).statusConflict("transition");
+        verifyNoInteractions(outboxRepository, orderCache);
+    }
+
+    @Test
+    @DisplayName("Should apply the change only at the expected version and return the next one")
+    void shouldApplyChangeAtExpectedVersion() {
+        updateStatusRequest.expectedVersion = 2L;
+        when(orderRepository.transitionStatusAtVersion(orderId, OrderStatus.PROCESSING.allowedSources(), OrderStatus.PROCESSING, 2L))
+            .thenReturn(1);
+        when(orderCache.evict(orderId)).thenReturn(Mono.empty());
+
+        OrderStatusResponse result = orderService.updateStatus(orderId, updateStatusRequest);
+
+        assertThat(result.version).isEqualTo(3L);
+        verify(orderRepository, never()).transitionStatus(any(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer a re-sent status with the current version and write nothing")
+    void shouldAnswerResentStatusWithCurrentVersionAndWriteNothing() {
+        updateStatusRequest.expectedVersion = 2L;
+        when(orderRepository.transitionStatusAtVersion(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING), eq(2L)))
+            .thenReturn(0);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.PROCESSING, 3L)));
+
+        OrderStatusResponse result = orderService.updateStatus(orderId, updateStatusRequest);
+
+        assertThat(result.status).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(result.version).isEqualTo(3L);
+        verify(orderMetrics, never()).statusConflict(any());
+        verifyNoInteractions(outboxRepository, orderCache);
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the order is at another version")
+    void shouldThrowConflictExceptionWhenVersionDiffers() {
+        updateStatusRequest.expectedVersion = 2L;
+        when(orderRepository.transitionStatusAtVersion(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING), eq(2L)))
+            .thenReturn(0);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.CREATED, 4L)));
+
+        assertThatThrownBy(() -> orderService.updateStatus(orderId, updateStatusRequest))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Order is at version 4, expected 2");
+        verify(orderMetrics).statusConflict("version");
+    }
+
+    @Test
+    @DisplayName("Should retry when the order changed between the update and the read")
+    void shouldRetryWhenOrderChangedConcurrently() {
+        when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING)))
+            .thenReturn(0, 1);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.CREATED, 1L)));
+        when(orderCache.evict(orderId)).thenReturn(Mono.empty());
+
+        OrderStatusResponse result = orderService.updateStatus(orderId, updateStatusRequest);
+
+        assertThat(result.status).isEqualTo(OrderStatus.PROCESSING);
+        verify(orderRepository, times(2)).transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING));
+        verify(orderMetrics).statusRetried();
+        // The backoff happens between two transactions, not inside one
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should give up with ConflictException after the bounded number of attempts")
+    void shouldGiveUpAfterBoundedAttempts() {
+        when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING))).thenReturn(0);
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.CREATED, 1L)));
+
+        assertThatThrownBy(() -> orderService.updateStatus(orderId, updateStatusRequest))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Order was modified concurrently, try again");
+        verify(orderRepository, times(3)).transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.PROCESSING));
+        verify(orderMetrics, times(2)).statusRetried();
+        verify(orderMetrics).statusConflict("contention");
     }
 
     @Test
-    @DisplayName("Should list all orders when status is null")
-    void shouldListAllOrdersWhenStatusIsNull() {
+    @DisplayName("Should list a page of orders when status is null")
+    void shouldListPageOfOrdersWhenStatusIsNull() {
         PurchaseOrder order2 = new PurchaseOrder();
         order2.setId(UUID.randomUUID());
         order2.setCustomer(customer);
         order2.setStatus(OrderStatus.PROCESSING);
         order2.setCreatedAt(OffsetDateTime.now());
 
-        when(orderRepository.findAll()).thenReturn(Arrays.asList(order, order2));
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<UUID> ids = new PageImpl<>(List.of(orderId, order2.getId()), pageable, 2);
+        when(orderRepository.findPageIds(any(Pageable.class))).thenReturn(ids);
+        when(orderRepository.findAllWithItemsByIdIn(ids.getContent())).thenReturn(Arrays.asList(order2, order));
 
-        List<OrderResponse> result = orderService.list(null);
+        PageResponse<OrderResponse> result = orderService.list(null, pageable);
 
-        assertThat(result).hasSize(2);
-        verify(orderRepository).findAll();
-        verify(orderRepository, never()).findByStatus(any());
+        assertThat(result.content).extracting(r -> r.id).containsExactly(orderId, order2.getId());
+        assertThat(result.totalElements).isEqualTo(2L);
+        assertThat(result.page).isZero();
+        verify(orderRepository).findPageIds(any(Pageable.class));
+        verify(orderRepository, never()).findPageIdsByStatus(any(), any());
     }
 
     @Test
     @DisplayName("Should list orders by status")
     void shouldListOrdersByStatus() {
-        when(orderRepository.findByStatus(OrderStatus.CREATED)).thenReturn(Arrays.asList(order));
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<UUID> ids = new PageImpl<>(List.of(orderId), pageable, 1);
+        when(orderRepository.findPageIdsByStatus(eq(OrderStatus.CREATED), any(Pageable.class))).thenReturn(ids);
+        when(orderRepository.findAllWithItemsByIdIn(ids.getContent())).thenReturn(List.of(order));
 
-        List<OrderResponse> result = orderService.list(OrderStatus.CREATED);
+        PageResponse<OrderResponse> result = orderService.list(OrderStatus.CREATED, pageable);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).status).isEqualTo(OrderStatus.CREATED);
-        verify(orderRepository).findByStatus(OrderStatus.CREATED);
-        verify(orderRepository, never()).findAll();
+        assertThat(result.content).hasSize(1);
+        assertThat(result.content.get(0).status).isEqualTo(OrderStatus.CREATED);
+        verify(orderRepository).findPageIdsByStatus(eq(OrderStatus.CREATED), any(Pageable.class));
+        verify(orderRepository, never()).findPageIds(any());
     }
 
     @Test
     @DisplayName("Should get order by id")
     void shouldGetOrderById() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.of(order));
 
         OrderResponse result = orderService.get(orderId);
 
         assertThat(result).isNotNull();
         assertThat(result.id).isEqualTo(orderId);
         assertThat(result.status).isEqualTo(OrderStatus.CREATED);
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findDetailById(orderId);
     }
 
     @Test
     @DisplayName("Should throw NotFoundException when getting non-existent order")
     void shouldThrowNotFoundExceptionWhenGettingNonExistentOrder() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.get(orderId))
             .isInstanceOf(NotFoundException.class)
             .hasMessage("Order not found");
 
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findDetailById(orderId);
+    }
+
+    @Test
+    @DisplayName("Should build the live status snapshot without loading the order graph")
+    void shouldBuildStatusSnapshotWithoutLoadingOrderGraph() {
+        when(orderRepository.findStatusVersionById(orderId)).thenReturn(Optional.of(statusVersion(OrderStatus.SHIPPED, 4L)));
+
+        OrderEvent snapshot = orderService.statusSnapshot(orderId);
+
+        assertThat(snapshot.orderId).isEqualTo(orderId);
+        assertThat(snapshot.status).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(snapshot.eventId).isNull();
+        assertThat(snapshot.version).isEqualTo(4L);
+        verify(orderRepository, never()).findDetailById(any());
     }
 
     @Test
     @DisplayName("Should calculate total correctly")
     void shouldCalculateTotalCorrectly() {
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.id = customerId;
-        when(customerService.get(customerId)).thenReturn(customerDto);
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.of(order));
 
         OrderResponse result = orderService.get(orderId);
 
@@ -310,14 +467,25 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should return empty list when no orders exist")
-    void shouldReturnEmptyListWhenNoOrdersExist() {
-        when(orderRepository.findAll()).thenReturn(Arrays.asList());
+    @DisplayName("Should return empty page without fetching orders when no orders exist")
+    void shouldReturnEmptyPageWithoutFetchingOrdersWhenNoOrdersExist() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(orderRepository.findPageIds(any(Pageable.class))).thenReturn(Page.empty(pageable));
 
-        List<OrderResponse> result = orderService.list(null);
+        PageResponse<OrderResponse> result = orderService.list(null, pageable);
 
-        assertThat(result).isEmpty();
-        verify(orderRepository).findAll();
+        assertThat(result.content).isEmpty();
+        assertThat(result.totalElements).isZero();
+        verify(orderRepository, never()).findAllWithItemsByIdIn(any());
     }
-}
 
+    private static OrderRepository.StatusVersion statusVersion(OrderStatus status, Long version) {
+        return new OrderRepository.StatusVersion() {
+            @Override
+            public OrderStatus getStatus() { return status; }
+
+            @Override
+            public Long getVersion() { return version; }
+        };
+    }
+}
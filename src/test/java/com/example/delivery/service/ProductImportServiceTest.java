@@ -0,0 +1,158 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.ProductImportResponse;
+import com.example.delivery.dto.ProductImportRow;
+import com.example.delivery.exception.BadRequestException;
+import com.example.delivery.support.SqlStatementCounter;
+import com.example.delivery.support.SqlStatementCounterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "delivery.product-import.chunk-size=2")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ProductImportService.class, ConcurrentMapCacheManager.class, SimpleMeterRegistry.class,
+        SqlStatementCounterConfig.class})
+@DisplayName("ProductImportService Tests")
+class ProductImportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    private Product existing;
+
+    @BeforeEach
+    void setUp() {
+        existing = new Product();
+        existing.setName("Pizza");
+        existing.setPrice(new BigDecimal("45.90"));
+        existing = entityManager.persistAndFlush(existing);
+        entityManager.clear();
+        cacheManager.getCache("products").put(existing.getId(), "cached");
+        cacheManager.getCache("products:list").put("list", "cached");
+        sqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Should insert new rows and update existing ones by id with one MERGE per chunk")
+    void shouldUpsertRowsWithOneMergePerChunk() {
+        UUID newId = UUID.randomUUID();
+
+        ProductImportResponse result = importService.importProducts(List.of(
+                row(existing.getId(), "Pizza Large", "55.90"),
+                row(newId, "Soda", "7.50"),
+                row(null, "Juice", "9.00"),
+                row(null, "Water", "4.00"),
+                row(null, "Salad", "29.90")).iterator());
+
+        assertThat(result.received).isEqualTo(5);
+        assertThat(result.imported).isEqualTo(5);
+        assertThat(result.rejected).isZero();
+        assertThat(sqlStatementCounter.count(sql -> sql.startsWith("merge into products"))).isEqualTo(3);
+        assertThat(entityManager.find(Product.class, existing.getId()).getName()).isEqualTo("Pizza Large");
+        assertThat(entityManager.find(Product.class, newId).getPrice()).isEqualByComparingTo("7.50");
+        assertThat(entityManager.getEntityManager().createQuery("select count(p) from Product p", Long.class)
+                .getSingleResult()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rows and evict the product caches once at the end")
+    void shouldRejectInvalidRowsAndEvictCaches() {
+        ProductImportResponse result = importService.importProducts(List.of(
+                row(null, " ", "10.00"),
+                row(null, "Negative", "-1.00"),
+                row(null, "Fries", "12.00")).iterator());
+
+        assertThat(result.imported).isEqualTo(1);
+        assertThat(result.rejected).isEqualTo(2);
+        assertThat(result.errors).hasSize(2);
+        assertThat(result.errors.get(0)).startsWith("row 1: name ");
+        assertThat(result.errors.get(1)).startsWith("row 2: price ");
+        assertThat(cacheManager.getCache("products").get(existing.getId())).isNull();
+        assertThat(cacheManager.getCache("products:list").get("list")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the imported chunks and still evict the caches when a row cannot be parsed")
+    void shouldEvictCachesWhenImportStopsOnMalformedRow() {
+        Iterator<ProductImportRow> rows = List.of(
+                row(null, "Soda", "7.50"),
+                row(null, "Juice", "9.00")).iterator();
+        Iterator<ProductImportRow> failing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (!rows.hasNext()) {
+                    throw new BadRequestException("Malformed row 3: unexpected character");
+                }
+                return true;
+            }
+
+            @Override
+            public ProductImportRow next() {
+                return rows.next();
+            }
+        };
+
+        assertThatThrownBy(() -> importService.importProducts(failing))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Malformed row 3: unexpected character (2 rows imported before it)");
+        assertThat(cacheManager.getCache("products").get(existing.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse a chunk size that exceeds the bind parameter limit")
+    void shouldRefuseChunkSizeThatExceedsBindParameterLimit() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        assertThatThrownBy(() -> new ProductImportService(null, null, cacheManager, registry, ProductImportService.MAX_CHUNK_SIZE + 1))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("21845");
+        assertThatThrownBy(() -> new ProductImportService(null, null, cacheManager, registry, 0))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(new ProductImportService(null, null, cacheManager, registry, ProductImportService.MAX_CHUNK_SIZE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should upsert with ON CONFLICT on PostgreSQL and keep MERGE on H2")
+    void shouldChooseUpsertByDatabase() {
+        assertThat(ProductImportService.Upsert.forDatabase("PostgreSQL").sql(2))
+            .startsWith("insert into products (id, name, price) values (")
+            .endsWith(" on conflict (id) do update set name = excluded.name, price = excluded.price");
+        assertThat(ProductImportService.Upsert.forDatabase("H2").sql(2)).startsWith("merge into products");
+    }
+
+    private static ProductImportRow row(UUID id, String name, String price) {
+        ProductImportRow row = new ProductImportRow();
+        row.id = id;
+        row.name = name;
+        row.price = new BigDecimal(price);
+        return row;
+    }
+}
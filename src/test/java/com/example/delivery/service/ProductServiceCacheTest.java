@@ -0,0 +1,114 @@
+package com.example.delivery.service;
+
+import com.example.delivery.domain.Product;
+import com.example.delivery.dto.CreateProductRequest;
+import com.example.delivery.dto.ProductDto;
+import com.example.delivery.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@DisplayName("ProductService Cache Tests")
+class ProductServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(ProductService.class)
+    static class CacheConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("products", "products:list");
+        }
+    }
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("Should keep other cached products when a product is created")
+    void shouldKeepOtherCachedProductsWhenProductIsCreated() {
+        Product existing = product("Pizza");
+        when(productRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        productService.get(existing.getId());
+        when(productRepository.save(any(Product.class))).thenReturn(product("Burger"));
+
+        productService.create(request("Burger"));
+        productService.get(existing.getId());
+
+        verify(productRepository, times(1)).findById(existing.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve a created product from cache without reading the database")
+    void shouldServeCreatedProductFromCacheWithoutReadingDatabase() {
+        Product created = product("Burger");
+        when(productRepository.save(any(Product.class))).thenReturn(created);
+
+        productService.create(request("Burger"));
+        ProductDto result = productService.get(created.getId());
+
+        assertThat(result.name).isEqualTo("Burger");
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reload the product list after a product is created")
+    void shouldReloadProductListAfterProductIsCreated() {
+        Product existing = product("Pizza");
+        Product created = product("Burger");
+        when(productRepository.findAll()).thenReturn(List.of(existing), List.of(existing, created));
+        when(productRepository.save(any(Product.class))).thenReturn(created);
+
+        assertThat(productService.list()).hasSize(1);
+        productService.create(request("Burger"));
+
+        assertThat(productService.list()).hasSize(2);
+        verify(productRepository, times(2)).findAll();
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        return product;
+    }
+
+    private static CreateProductRequest request(String name) {
+        CreateProductRequest request = new CreateProductRequest();
+        request.name = name;
+        request.price = new BigDecimal("10.00");
+        return request;
+    }
+}
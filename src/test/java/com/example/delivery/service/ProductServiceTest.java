@@ -16,7 +16,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -181,6 +183,39 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    @DisplayName("Should find product entities in a single lookup")
+    void shouldFindProductEntitiesInSingleLookup() {
+        Product product2 = new Product();
+        product2.setId(UUID.randomUUID());
+        product2.setName("Another Product");
+        product2.setPrice(new BigDecimal("19.99"));
+
+        when(productRepository.findAllById(Set.of(productId, product2.getId()))).thenReturn(List.of(product, product2));
+
+        Map<UUID, Product> result = productService.findEntities(List.of(productId, product2.getId(), productId));
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(productId)).isSameAs(product);
+        assertThat(result.get(product2.getId())).isSameAs(product2);
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should report every missing product in one exception")
+    void shouldReportEveryMissingProductInOneException() {
+        UUID missing1 = UUID.randomUUID();
+        UUID missing2 = UUID.randomUUID();
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> productService.findEntities(List.of(productId, missing1, missing2)))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessageContaining(missing1.toString())
+            .hasMessageContaining(missing2.toString())
+            .hasMessageNotContaining(productId.toString());
+    }
+
     @Test
     @DisplayName("Should convert product entity to DTO correctly")
     void shouldConvertProductEntityToDtoCorrectly() {
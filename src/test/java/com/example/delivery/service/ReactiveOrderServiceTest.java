@@ -0,0 +1,79 @@
+package com.example.delivery.service;
+
+import com.example.delivery.cache.ReactiveOrderCache;
+import com.example.delivery.domain.OrderStatus;
+import com.example.delivery.dto.OrderResponse;
+import com.example.delivery.exception.NotFoundException;
+import com.example.delivery.repository.ReactiveOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveOrderService Tests")
+class ReactiveOrderServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository repository;
+
+    @Mock
+    private ReactiveOrderCache cache;
+
+    @InjectMocks
+    private ReactiveOrderService service;
+
+    private UUID orderId;
+    private OrderResponse order;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+        order = new OrderResponse();
+        order.id = orderId;
+        order.status = OrderStatus.CREATED;
+    }
+
+    @Test
+    @DisplayName("Should serve a cached order without querying the database")
+    void shouldServeCachedOrderWithoutQueryingDatabase() {
+        when(cache.get(orderId)).thenReturn(Mono.just(order));
+
+        StepVerifier.create(service.get(orderId)).expectNext(order).verifyComplete();
+
+        verifyNoInteractions(repository);
+        verify(cache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("Should load and cache an order on a cache miss")
+    void shouldLoadAndCacheOrderOnCacheMiss() {
+        when(cache.get(orderId)).thenReturn(Mono.empty());
+        when(repository.findById(orderId)).thenReturn(Mono.just(order));
+        when(cache.put(order)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.get(orderId)).expectNext(order).verifyComplete();
+
+        verify(cache).put(order);
+    }
+
+    @Test
+    @DisplayName("Should signal NotFoundException when the order does not exist")
+    void shouldSignalNotFoundWhenOrderDoesNotExist() {
+        when(cache.get(orderId)).thenReturn(Mono.empty());
+        when(repository.findById(orderId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.get(orderId)).verifyError(NotFoundException.class);
+
+        verify(cache, never()).put(any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.delivery.support;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public class SqlStatementCounter {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicInteger batchExecutions = new AtomicInteger();
+    private final AtomicInteger batchedRows = new AtomicInteger();
+
+    public DataSource wrap(DataSource dataSource) {
+        return (DataSource) proxy(dataSource, ClassUtils.getAllInterfaces(dataSource), (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    public void reset() {
+        statements.clear();
+        executions.set(0);
+        batchExecutions.set(0);
+        batchedRows.set(0);
+    }
+
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public long count(Predicate<String> filter) {
+        return statements.stream().filter(filter).count();
+    }
+
+    public long selectsFrom(String table) {
+        Pattern pattern = Pattern.compile("^select .* from " + Pattern.quote(table) + "\\b.*");
+        return count(sql -> pattern.matcher(sql).matches());
+    }
+
+    public long insertsInto(String table) {
+        return count(sql -> sql.startsWith("insert into " + table + " ") || sql.startsWith("insert into " + table + "("));
+    }
+
+    public int executions() {
+        return executions.get();
+    }
+
+    public int batchExecutions() {
+        return batchExecutions.get();
+    }
+
+    public int batchedRows() {
+        return batchedRows.get();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) proxy(connection, new Class<?>[]{Connection.class}, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement ps && method.getName().equals("prepareStatement")) {
+                record((String) args[0]);
+                return proxy(ps, new Class<?>[]{PreparedStatement.class}, this::onStatement);
+            }
+            if (result instanceof Statement st && method.getName().equals("createStatement")) {
+                return proxy(st, new Class<?>[]{Statement.class}, this::onStatement);
+            }
+            return result;
+        });
+    }
+
+    private Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("addBatch")) {
+            batchedRows.incrementAndGet();
+        } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+            executions.incrementAndGet();
+            batchExecutions.incrementAndGet();
+        } else if (name.startsWith("execute")) {
+            executions.incrementAndGet();
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                record(sql);
+            }
+        }
+        return invoke(target, method, args);
+    }
+
+    private void record(String sql) {
+        statements.add(sql.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Object proxy(Object target, Class<?>[] interfaces, TargetHandler handler) {
+        InvocationHandler invocationHandler = (p, method, args) -> handler.handle(target, method, args);
+        return Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.delivery.support;
+
+import com.example.delivery.observability.JdbcStatementCounter;
+import com.example.delivery.observability.StatementBudget;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counts statements from after @BeforeEach to the end of a @StatementBudget test; needs StatementBudgetConfig
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        budget(context).ifPresent(budget -> counter(context).begin());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<StatementBudget> budget = budget(context);
+        if (budget.isPresent()) {
+            int statements = counter(context).end();
+            assertThat(statements)
+                    .as("SQL statements issued by %s", context.getRequiredTestMethod().getName())
+                    .isLessThanOrEqualTo(budget.get().value());
+        }
+    }
+
+    private static Optional<StatementBudget> budget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), StatementBudget.class);
+    }
+
+    private static JdbcStatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(JdbcStatementCounter.class);
+    }
+}